@@ -0,0 +1,86 @@
+package com.example.assignment_anulom.benchmark;
+
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.codec.InputScanner;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.model.IntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Key building and summing as done by {@code SumServices.computeSum}, next to the
+ * original boxed stream pipeline for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SumHotPathBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    private int size;
+
+    private IntArrayList primitive;
+    private List<Integer> boxed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] values = new int[size];
+        boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(2000) - 1000;
+            boxed.add(values[i]);
+        }
+        primitive = IntArrayList.of(values);
+    }
+
+    @Benchmark
+    public String boxedJoinKey() {
+        return boxed.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public int boxedStreamSum() {
+        return boxed.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public Object hashKey() {
+        return InputHasher.hash(HashKey.NONE, primitive.array(), 0, primitive.size());
+    }
+
+    @Benchmark
+    public long primitiveSum() {
+        int[] values = primitive.array();
+        long sum = 0;
+        for (int i = 0; i < primitive.size(); i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object keyForkJoin() {
+        return InputScanner.key(primitive.array(), primitive.size(), KeyCanonicalization.ORDERED, HashKey.NONE, 1 << 16);
+    }
+
+    @Benchmark
+    public long sumForkJoin() {
+        return InputScanner.sum(primitive.array(), primitive.size(), 1 << 16);
+    }
+}
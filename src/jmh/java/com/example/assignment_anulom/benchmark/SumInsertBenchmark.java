@@ -0,0 +1,88 @@
+package com.example.assignment_anulom.benchmark;
+
+import com.example.assignment_anulom.AssignmentAnulomApplication;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumRequestRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing a newly computed result: a Hibernate save with its IDENTITY flush against the
+ * JDBC upsert, and an upsert of a row that is already stored. Embedded H2 of the test profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SumInsertBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SumRequestRepository sumRequestRepository;
+    private SumJdbcRepository sumJdbcRepository;
+    private SumEntity stored;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssignmentAnulomApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.assignment_anulom=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        sumRequestRepository = context.getBean(SumRequestRepository.class);
+        sumJdbcRepository = context.getBean(SumJdbcRepository.class);
+        stored = newRow();
+        sumJdbcRepository.upsert(stored);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SumEntity jpaSave() {
+        return sumRequestRepository.save(newRow());
+    }
+
+    @Benchmark
+    public SumEntity jdbcUpsert() {
+        SumEntity row = newRow();
+        sumJdbcRepository.upsert(row);
+        return row;
+    }
+
+    @Benchmark
+    public void jdbcUpsertExisting() {
+        sumJdbcRepository.upsert(stored);
+    }
+
+    // A distinct three-number input per call, so every insert is a new row
+    private SumEntity newRow() {
+        int n = next++;
+        int[] values = {n, n + 1, n + 2};
+        SumEntity entity = new SumEntity();
+        entity.setInputHash(InputHasher.hash(HashKey.NONE, values, 0, values.length).toBytes());
+        entity.setInputData(InputCodec.encode(values, values.length));
+        entity.setResult(3L * n + 3);
+        return entity;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.assignment_anulom.benchmark;
+
+import com.example.assignment_anulom.codec.ScalarSumKernel;
+import com.example.assignment_anulom.codec.SumKernel;
+import com.example.assignment_anulom.codec.SumKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum reduction alone: the original boxed stream, a primitive stream, and both
+ * {@code SumKernel} implementations. Requires {@code --add-modules jdk.incubator.vector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SumKernelBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    private int size;
+
+    private final SumKernel vector = SumKernels.vector().orElseThrow();
+
+    private int[] values;
+    private List<Integer> boxed;
+
+    @Setup
+    public void setUp() {
+        values = new Random(42).ints(size).toArray();
+        boxed = new ArrayList<>(size);
+        for (int value : values) {
+            boxed.add(value);
+        }
+    }
+
+    @Benchmark
+    public int boxedStream() {
+        return boxed.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public long primitiveStream() {
+        return Arrays.stream(values).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long scalarKernel() {
+        return ScalarSumKernel.INSTANCE.sum(values, 0, values.length);
+    }
+
+    @Benchmark
+    public long vectorKernel() {
+        return vector.sum(values, 0, values.length);
+    }
+}
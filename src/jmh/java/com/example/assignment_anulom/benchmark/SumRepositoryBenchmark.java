@@ -0,0 +1,96 @@
+package com.example.assignment_anulom.benchmark;
+
+import com.example.assignment_anulom.AssignmentAnulomApplication;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumRequestRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stored-result lookup by content hash against the embedded H2 database of the test profile,
+ * through Spring Data JPA and through the plain JDBC path the request hot path uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SumRepositoryBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private SumRequestRepository sumRequestRepository;
+    private SumJdbcRepository sumJdbcRepository;
+    private byte[] storedHash;
+    private byte[] missingHash;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AssignmentAnulomApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, so they win over the test profile's SQL logging
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.assignment_anulom=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        sumRequestRepository = context.getBean(SumRequestRepository.class);
+        sumJdbcRepository = context.getBean(SumJdbcRepository.class);
+
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i % 1000;
+        }
+        storedHash = InputHasher.hash(HashKey.NONE, values, 0, size).toBytes();
+        missingHash = InputHasher.hash(HashKey.NONE, new int[]{-1, size}, 0, 2).toBytes();
+
+        SumEntity entity = new SumEntity();
+        entity.setInputHash(storedHash);
+        entity.setInputData(InputCodec.encode(values, size));
+        sumRequestRepository.save(entity);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<SumEntity> lookupHit() {
+        return sumRequestRepository.findByInputHash(storedHash);
+    }
+
+    @Benchmark
+    public Optional<SumEntity> lookupMiss() {
+        return sumRequestRepository.findByInputHash(missingHash);
+    }
+
+    @Benchmark
+    public Optional<SumEntity> jdbcLookupHit() {
+        return sumJdbcRepository.findByInputHash(storedHash);
+    }
+
+    @Benchmark
+    public Optional<SumEntity> jdbcLookupMiss() {
+        return sumJdbcRepository.findByInputHash(missingHash);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.assignment_anulom.benchmark;
+
+import com.example.assignment_anulom.codec.BinarySumMessageConverter;
+import com.example.assignment_anulom.model.SumRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of a {@link SumRequest} body: the primitive JSON deserializer, Jackson's
+ * default boxed {@code List<Integer>} binding, and the binary int32 format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SumRequestDeserializationBenchmark {
+
+    @Param({"1", "100", "10000", "1000000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinarySumMessageConverter binaryConverter = new BinarySumMessageConverter(Integer.MAX_VALUE);
+    private byte[] body;
+    private byte[] binaryBody;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(size * 6).append("{\"numbers\": [");
+        ByteBuffer binary = ByteBuffer.allocate(Integer.BYTES * (size + 1)).order(ByteOrder.LITTLE_ENDIAN).putInt(size);
+        for (int i = 0; i < size; i++) {
+            int value = random.nextInt();
+            json.append(i == 0 ? "" : ",").append(value);
+            binary.putInt(value);
+        }
+        body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        binaryBody = binary.array();
+    }
+
+    @Benchmark
+    public SumRequest primitiveBinding() throws IOException {
+        return objectMapper.readValue(body, SumRequest.class);
+    }
+
+    @Benchmark
+    public BoxedRequest boxedBinding() throws IOException {
+        return objectMapper.readValue(body, BoxedRequest.class);
+    }
+
+    @Benchmark
+    public Object binaryBinding() throws IOException {
+        MockHttpInputMessage message = new MockHttpInputMessage(binaryBody);
+        message.getHeaders().setContentType(BinarySumMessageConverter.MEDIA_TYPE);
+        message.getHeaders().setContentLength(binaryBody.length);
+        return binaryConverter.read(SumRequest.class, message);
+    }
+
+    public static class BoxedRequest {
+        public List<Integer> numbers;
+    }
+}
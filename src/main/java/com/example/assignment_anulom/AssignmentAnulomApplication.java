@@ -3,7 +3,12 @@ package com.example.assignment_anulom;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// R2DBC is only on the classpath in the reactive build; its ConnectionFactory would make the JDBC DataSource back off
+@SpringBootApplication(excludeName = {
+		"org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+		"org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+		"org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration"
+})
 public class AssignmentAnulomApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,169 @@
+package com.example.assignment_anulom.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * In-process LRU cache bounded both by entry count and by an estimated byte size.
+ * The key space is split into independently locked segments so concurrent
+ * lookups for different keys do not serialize on a single monitor. The bounds are divided
+ * between the segments so that they add up exactly, with fewer segments for tiny caches.
+ */
+public class BoundedLruCache<K, V> {
+
+    // At most; a power of two, so that a key's segment is picked by masking its hash
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public BoundedLruCache(int maxEntries, long maxBytes, ToLongBiFunction<K, V> weigher) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache bounds must be positive.");
+        }
+        this.weigher = weigher;
+        // Every segment must be able to hold at least one entry and one byte
+        int count = Integer.highestOneBit((int) Math.min(SEGMENTS, Math.min(maxEntries, maxBytes)));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // The first segments take one more of whatever does not divide evenly
+            int entries = maxEntries / count + (i < maxEntries % count ? 1 : 0);
+            long bytes = maxBytes / count + (i < maxBytes % count ? 1 : 0);
+            segments[i] = new Segment<>(entries, bytes);
+        }
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.map.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        long weight = weigher.applyAsLong(key, value);
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (weight > segment.maxBytes) {
+                // An entry that can never fit would only flush the whole segment
+                return;
+            }
+            V previous = segment.map.put(key, value);
+            if (previous != null) {
+                segment.bytes -= weigher.applyAsLong(key, previous);
+            }
+            segment.bytes += weight;
+            evictOverflow(segment);
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            V removed = segment.map.remove(key);
+            if (removed != null) {
+                segment.bytes -= weigher.applyAsLong(key, removed);
+            }
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+                segment.bytes = 0;
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries, most recently used first. Recency is only ordered within
+     * a segment, so segments are interleaved round-robin to approximate the global order.
+     */
+    public List<Map.Entry<K, V>> hottest(int limit) {
+        List<List<Map.Entry<K, V>>> perSegment = new ArrayList<>(segments.length);
+        for (Segment<K, V> segment : segments) {
+            List<Map.Entry<K, V>> entries;
+            synchronized (segment) {
+                entries = new ArrayList<>(segment.map.size());
+                for (Map.Entry<K, V> entry : segment.map.entrySet()) {
+                    entries.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            Collections.reverse(entries);
+            perSegment.add(entries);
+        }
+        List<Map.Entry<K, V>> hottest = new ArrayList<>();
+        for (int rank = 0; hottest.size() < limit; rank++) {
+            boolean any = false;
+            for (List<Map.Entry<K, V>> entries : perSegment) {
+                if (rank < entries.size() && hottest.size() < limit) {
+                    hottest.add(entries.get(rank));
+                    any = true;
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+        return hottest;
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        long bytes = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+                bytes += segment.bytes;
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, bytes);
+    }
+
+    private void evictOverflow(Segment<K, V> segment) {
+        Iterator<Map.Entry<K, V>> eldest = segment.map.entrySet().iterator();
+        while ((segment.map.size() > segment.maxEntries || segment.bytes > segment.maxBytes) && eldest.hasNext()) {
+            Map.Entry<K, V> entry = eldest.next();
+            segment.bytes -= weigher.applyAsLong(entry.getKey(), entry.getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> {
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxEntries;
+        private final long maxBytes;
+        private long bytes;
+
+        private Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.assignment_anulom.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long size, long estimatedBytes) {
+}
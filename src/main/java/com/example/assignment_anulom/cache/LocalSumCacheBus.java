@@ -0,0 +1,27 @@
+package com.example.assignment_anulom.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus that delivers events synchronously to every subscriber. It connects the
+ * caches of a single JVM, which is all a lone instance or a test needs; a broker-backed
+ * bus replaces it when replicas run in separate processes.
+ */
+public class LocalSumCacheBus implements SumCacheBus {
+
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Event event) {
+        for (Consumer<Event> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+}
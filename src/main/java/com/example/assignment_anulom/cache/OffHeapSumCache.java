@@ -0,0 +1,206 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Result cache held outside the Java heap in fixed 32-byte slots, so its size adds nothing
+ * to GC work. Slots are grouped into 4-way buckets; a full bucket evicts a random way.
+ * <p>
+ * When backed by a mapped file the table is shared by every instance that maps the same
+ * file. Each slot carries a checksum of its key and result that is cleared before the slot
+ * is rewritten and published last, so a slot torn by a concurrent writer reads as a miss.
+ */
+public class OffHeapSumCache implements SumCache {
+
+    static final int SLOT_BYTES = 32;
+    private static final int WAYS = 4;
+    private static final int LOCK_STRIPES = 64;
+    private static final long SIZE_SCAN_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer table;
+    private final int bucketMask;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile long scannedSize;
+    private volatile long scannedAt;
+    private volatile boolean scanned;
+
+    OffHeapSumCache(ByteBuffer table) {
+        long buckets = Long.highestOneBit(table.capacity() / ((long) SLOT_BYTES * WAYS));
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Off-heap cache needs at least " + SLOT_BYTES * WAYS + " bytes.");
+        }
+        this.table = table;
+        this.bucketMask = (int) buckets - 1;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** A table private to this process. */
+    public static OffHeapSumCache allocate(long maxBytes) {
+        return new OffHeapSumCache(ByteBuffer.allocateDirect(capacity(maxBytes)));
+    }
+
+    /** A table in a memory-mapped file, shared with other processes mapping the same file. */
+    public static OffHeapSumCache map(Path file, long maxBytes) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new OffHeapSumCache(channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity(maxBytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map off-heap cache file " + file, e);
+        }
+    }
+
+    @Override
+    public Long get(SumKey key) {
+        int bucket = bucketOf(key);
+        for (int way = 0; way < WAYS; way++) {
+            int slot = slotOffset(bucket, way);
+            long check = (long) LONGS.getAcquire(table, slot + 24);
+            if (check == 0) {
+                continue;
+            }
+            long hi = (long) LONGS.get(table, slot);
+            long lo = (long) LONGS.get(table, slot + 8);
+            long result = (long) LONGS.get(table, slot + 16);
+            if (hi == key.hi() && lo == key.lo() && check == checksum(hi, lo, result)) {
+                hits.increment();
+                return result;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(SumKey key, long result) {
+        int bucket = bucketOf(key);
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            int target = -1;
+            for (int way = 0; way < WAYS; way++) {
+                int slot = slotOffset(bucket, way);
+                long check = (long) LONGS.getAcquire(table, slot + 24);
+                if (check == 0) {
+                    if (target < 0) {
+                        target = slot;
+                    }
+                } else if ((long) LONGS.get(table, slot) == key.hi() && (long) LONGS.get(table, slot + 8) == key.lo()) {
+                    target = slot;
+                    break;
+                }
+            }
+            if (target < 0) {
+                target = slotOffset(bucket, ThreadLocalRandom.current().nextInt(WAYS));
+                evictions.increment();
+            }
+            LONGS.setVolatile(table, target + 24, 0L);
+            LONGS.set(table, target, key.hi());
+            LONGS.set(table, target + 8, key.lo());
+            LONGS.set(table, target + 16, result);
+            LONGS.setRelease(table, target + 24, checksum(key.hi(), key.lo(), result));
+        }
+    }
+
+    @Override
+    public void invalidate(SumKey key) {
+        int bucket = bucketOf(key);
+        synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+            for (int way = 0; way < WAYS; way++) {
+                int slot = slotOffset(bucket, way);
+                if ((long) LONGS.get(table, slot) == key.hi() && (long) LONGS.get(table, slot + 8) == key.lo()) {
+                    LONGS.setRelease(table, slot + 24, 0L);
+                }
+            }
+        }
+        scanned = false;
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket <= bucketMask; bucket++) {
+            synchronized (locks[bucket & (LOCK_STRIPES - 1)]) {
+                for (int way = 0; way < WAYS; way++) {
+                    LONGS.setRelease(table, slotOffset(bucket, way) + 24, 0L);
+                }
+            }
+        }
+        scanned = false;
+    }
+
+    /**
+     * Size is counted by scanning the table, so it includes entries written by other
+     * processes. The count is reused for a second so a metrics scrape scans at most once.
+     */
+    @Override
+    public CacheStats stats() {
+        long now = System.nanoTime();
+        if (!scanned || now - scannedAt > SIZE_SCAN_INTERVAL_NANOS) {
+            scannedSize = countOccupied();
+            scannedAt = now;
+            scanned = true;
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), scannedSize, capacityBytes());
+    }
+
+    public long capacityBytes() {
+        return (long) (bucketMask + 1) * WAYS * SLOT_BYTES;
+    }
+
+    private long countOccupied() {
+        long size = 0;
+        for (int bucket = 0; bucket <= bucketMask; bucket++) {
+            for (int way = 0; way < WAYS; way++) {
+                if ((long) LONGS.getAcquire(table, slotOffset(bucket, way) + 24) != 0) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    private int bucketOf(SumKey key) {
+        long h = key.lo() ^ Long.rotateLeft(key.hi(), 32);
+        h ^= (h >>> 29);
+        return (int) h & bucketMask;
+    }
+
+    private static int slotOffset(int bucket, int way) {
+        return (bucket * WAYS + way) * SLOT_BYTES;
+    }
+
+    // Never zero, since zero marks an empty slot
+    private static long checksum(long hi, long lo, long result) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h = (h ^ (h >>> 32)) * 0xD6E8FEB86659FD93L ^ result;
+        h = (h ^ (h >>> 32)) * 0xD6E8FEB86659FD93L;
+        return (h ^ (h >>> 32)) | 1L;
+    }
+
+    private static int capacity(long maxBytes) {
+        // ByteBuffer offsets are ints; larger tables would need several segments
+        long bytes = Math.min(maxBytes, 1L << 30);
+        if (bytes < (long) SLOT_BYTES * WAYS) {
+            throw new IllegalArgumentException("Off-heap cache needs at least " + SLOT_BYTES * WAYS + " bytes.");
+        }
+        return (int) Long.highestOneBit(bytes);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+
+/**
+ * Result cache keyed by input key. A key always maps to the same sum, so entries never go
+ * stale; invalidation only exists to drop results that should no longer be served.
+ */
+public interface SumCache {
+
+    /** The cached result, or {@code null} on a miss. */
+    Long get(SumKey key);
+
+    void put(SumKey key, long result);
+
+    void invalidate(SumKey key);
+
+    void clear();
+
+    CacheStats stats();
+}
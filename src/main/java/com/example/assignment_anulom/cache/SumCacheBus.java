@@ -0,0 +1,26 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache changes between service instances so that a result computed, or dropped,
+ * on one replica is reflected in the near caches of the others. Implementations may
+ * deliver asynchronously and are free to lose events; a lost put only costs a lookup.
+ */
+public interface SumCacheBus {
+
+    void publish(Event event);
+
+    void subscribe(Consumer<Event> listener);
+
+    enum Type {
+        PUT,
+        INVALIDATE
+    }
+
+    /** {@code origin} identifies the publishing cache so it can ignore its own events. */
+    record Event(String origin, Type type, SumKey key, long result) {
+    }
+}
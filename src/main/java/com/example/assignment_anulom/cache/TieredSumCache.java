@@ -0,0 +1,119 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Small on-heap near cache in front of a larger far tier, typically {@link OffHeapSumCache}.
+ * A far hit is promoted into the near tier. Puts and invalidations are published on the
+ * bus, and events from other instances are applied to both tiers here.
+ */
+public class TieredSumCache implements SumCache {
+
+    private final BoundedLruCache<SumKey, Long> near;
+    private final SumCache far;
+    private final SumCacheBus bus;
+    private final String origin = UUID.randomUUID().toString();
+
+    public TieredSumCache(BoundedLruCache<SumKey, Long> near, SumCache far, SumCacheBus bus) {
+        this.near = near;
+        this.far = far;
+        this.bus = bus;
+        bus.subscribe(this::onEvent);
+    }
+
+    @Override
+    public Long get(SumKey key) {
+        Long result = near.get(key);
+        if (result == null && far != null) {
+            result = far.get(key);
+            if (result != null) {
+                near.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(SumKey key, long result) {
+        store(key, result);
+        bus.publish(new SumCacheBus.Event(origin, SumCacheBus.Type.PUT, key, result));
+    }
+
+    @Override
+    public void invalidate(SumKey key) {
+        drop(key);
+        bus.publish(new SumCacheBus.Event(origin, SumCacheBus.Type.INVALIDATE, key, 0));
+    }
+
+    /** Stores into this instance's tiers without publishing, for warm-up from local sources. */
+    public void preload(SumKey key, long result) {
+        store(key, result);
+    }
+
+    /** The near tier's entries, most recently used first. */
+    public List<Map.Entry<SumKey, Long>> hottest(int limit) {
+        return near.hottest(limit);
+    }
+
+    /** Clears this instance's tiers only; other instances are not told. */
+    @Override
+    public void clear() {
+        near.clear();
+        if (far != null) {
+            far.clear();
+        }
+    }
+
+    /** Hits from either tier; a miss is a lookup neither tier could answer. */
+    @Override
+    public CacheStats stats() {
+        CacheStats nearStats = near.stats();
+        if (far == null) {
+            return nearStats;
+        }
+        CacheStats farStats = far.stats();
+        return new CacheStats(
+                nearStats.hits() + farStats.hits(),
+                farStats.misses(),
+                nearStats.evictions() + farStats.evictions(),
+                farStats.size(),
+                nearStats.estimatedBytes() + farStats.estimatedBytes());
+    }
+
+    public CacheStats nearStats() {
+        return near.stats();
+    }
+
+    /** Null when there is no far tier. */
+    public CacheStats farStats() {
+        return far != null ? far.stats() : null;
+    }
+
+    private void onEvent(SumCacheBus.Event event) {
+        if (origin.equals(event.origin())) {
+            return;
+        }
+        switch (event.type()) {
+            case PUT -> store(event.key(), event.result());
+            case INVALIDATE -> drop(event.key());
+        }
+    }
+
+    private void store(SumKey key, long result) {
+        near.put(key, result);
+        if (far != null) {
+            far.put(key, result);
+        }
+    }
+
+    private void drop(SumKey key) {
+        near.invalidate(key);
+        if (far != null) {
+            far.invalidate(key);
+        }
+    }
+}
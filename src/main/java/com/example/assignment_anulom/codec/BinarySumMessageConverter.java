@@ -0,0 +1,123 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Binary alternative to JSON for {@code /api/sum}, selected by content negotiation.
+ * <p>
+ * A request body is a little-endian int32 element count followed by that many
+ * little-endian int32 values, decoded straight into a primitive buffer. A response
+ * body is the result as a single little-endian int64. Requests claiming more than
+ * {@code maxElements} values are rejected with 413 before their body is read.
+ */
+public class BinarySumMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-sum-int32";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final int maxElements;
+
+    public BinarySumMessageConverter(int maxElements) {
+        super(MEDIA_TYPE);
+        this.maxElements = maxElements;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == SumRequest.class || clazz == SumResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == SumRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == SumResponse.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        SumRequest request = new SumRequest();
+        request.setNumbers(decode(inputMessage.getBody(), inputMessage.getHeaders().getContentLength(), maxElements, inputMessage));
+        return request;
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (!(body instanceof SumResponse response)) {
+            throw new HttpMessageNotWritableException("Cannot write " + body.getClass().getName() + " as " + MEDIA_TYPE);
+        }
+        outputMessage.getBody().write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(response.getResult()).array());
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        return (long) Long.BYTES;
+    }
+
+    /**
+     * Decodes a count-prefixed int32 array. A known content length must match the count
+     * exactly. Either way the buffer only grows as bytes actually arrive, so a forged count
+     * or content length cannot force an allocation larger than the body sent.
+     */
+    private static IntArrayList decode(InputStream in, long contentLength, int maxElements,
+                                       HttpInputMessage message) throws IOException {
+        byte[] header = in.readNBytes(Integer.BYTES);
+        if (header.length < Integer.BYTES) {
+            throw new HttpMessageNotReadableException("Binary sum request is missing its element count.", message);
+        }
+        int count = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        if (count < 0) {
+            throw new HttpMessageNotReadableException("Negative element count: " + count, message);
+        }
+        if (count > maxElements) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Binary sum request holds " + count + " elements, more than the limit of " + maxElements + ".");
+        }
+        if (contentLength >= 0 && contentLength != Integer.BYTES + (long) count * Integer.BYTES) {
+            throw new HttpMessageNotReadableException("Element count " + count
+                    + " does not match content length " + contentLength, message);
+        }
+
+        int[] values = new int[Math.min(count, CHUNK_BYTES / Integer.BYTES)];
+        byte[] chunk = new byte[CHUNK_BYTES];
+        int size = 0;
+        while (size < count) {
+            int wanted = (int) Math.min(CHUNK_BYTES, (long) (count - size) * Integer.BYTES);
+            int read = in.readNBytes(chunk, 0, wanted);
+            if (read < wanted) {
+                throw new HttpMessageNotReadableException("Binary sum request ended after "
+                        + (size + read / Integer.BYTES) + " of " + count + " elements.", message);
+            }
+            int elements = read / Integer.BYTES;
+            if (size + elements > values.length) {
+                long grown = Math.max((long) values.length << 1, size + elements);
+                values = Arrays.copyOf(values, (int) Math.min(count, grown));
+            }
+            ByteBuffer.wrap(chunk, 0, read).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values, size, elements);
+            size += elements;
+        }
+        return new IntArrayList(values, size);
+    }
+}
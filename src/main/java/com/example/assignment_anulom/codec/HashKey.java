@@ -0,0 +1,106 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Per-deployment secret the content hashers derive their polynomial bases and salts from,
+ * passed to every hasher rather than held globally so that contexts sharing a JVM stay apart.
+ * <p>
+ * With the published constants anyone can work out lists that share a key, and every cache
+ * tier trusts a key match. Under a secret that is infeasible unless keys leak, so the keys
+ * handed out by appends are sealed with a block cipher under the same secret. Instances
+ * sharing caches, snapshots or {@code sum_data} rows must use the same secret; changing it
+ * changes every key, so stored rows are only found again once recomputed.
+ */
+public final class HashKey {
+
+    /** The published constants, for deployments without a secret. */
+    public static final HashKey NONE = new HashKey(0, 0, 0, 0, null, 0);
+
+    final long inputBaseHi;
+    final long inputBaseLo;
+    final long inputSaltHi;
+    final long inputSaltLo;
+    final long multisetSaltHi;
+    final long multisetSaltLo;
+
+    // AES key for handles; null to hand out keys as they are
+    private final SecretKeySpec handleKey;
+
+    private final long fingerprint;
+
+    private HashKey(long baseHi, long baseLo, long saltHi, long saltLo, byte[] handleKey, long fingerprint) {
+        this.inputBaseHi = base(InputHasher.BASE_HI ^ baseHi);
+        this.inputBaseLo = base(InputHasher.BASE_LO ^ baseLo);
+        this.inputSaltHi = InputHasher.SALT_HI ^ saltHi;
+        this.inputSaltLo = InputHasher.SALT_LO ^ saltLo;
+        this.multisetSaltHi = MultisetHasher.SALT_HI ^ saltHi;
+        this.multisetSaltLo = MultisetHasher.SALT_LO ^ saltLo;
+        this.handleKey = handleKey == null ? null : new SecretKeySpec(handleKey, "AES");
+        this.fingerprint = fingerprint;
+    }
+
+    /** Derives the constants from a secret; a blank secret means {@link #NONE}. */
+    public static HashKey of(String secret) {
+        if (secret == null || secret.isBlank()) {
+            return NONE;
+        }
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-512").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer words = ByteBuffer.wrap(digest);
+        return new HashKey(words.getLong(), words.getLong(), words.getLong(), words.getLong(),
+                Arrays.copyOfRange(digest, 32, 48), words.getLong(48));
+    }
+
+    public boolean isKeyed() {
+        return handleKey != null;
+    }
+
+    /**
+     * Tells keys apart without revealing anything they are derived from, for files of keys
+     * that must not be read under another secret; 0 for {@link #NONE}.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /** Opaque hex handle of a key, for clients to refer back to it; the key itself under {@link #NONE}. */
+    public String seal(SumKey key) {
+        return handleKey == null ? key.toHex() : SumKey.fromBytes(crypt(Cipher.ENCRYPT_MODE, key.toBytes())).toHex();
+    }
+
+    /** The key behind a handle from {@link #seal}. */
+    public SumKey open(String handle) {
+        SumKey sealed = SumKey.fromHex(handle);
+        return handleKey == null ? sealed : SumKey.fromBytes(crypt(Cipher.DECRYPT_MODE, sealed.toBytes()));
+    }
+
+    private byte[] crypt(int mode, byte[] block) {
+        // One block, so no chaining or padding is needed
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            cipher.init(mode, handleKey);
+            return cipher.doFinal(block);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long base(long candidate) {
+        // 0 and 1 would make the polynomial ignore order
+        long base = Long.remainderUnsigned(candidate, InputHasher.MOD);
+        return base < 2 ? base + 2 : base;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary form of a stored input list, written to {@code sum_data.input_data}.
+ * <p>
+ * Layout: one flags byte, then a varint count followed by one zigzag varint per value.
+ * With {@link #DELTA} each varint after the first holds the difference to the previous
+ * value, which is chosen when it is shorter, as for sorted multiset rows. With
+ * {@link #DEFLATE} everything after the flags byte is the varint length of the plain
+ * payload followed by that payload deflated, used for long payloads that shrink.
+ */
+public final class InputCodec {
+
+    static final int DELTA = 1;
+    static final int DEFLATE = 1 << 1;
+
+    // Shorter payloads are stored as they are; the deflate framing would outweigh the saving
+    static final int DEFLATE_THRESHOLD_BYTES = 512;
+
+    private InputCodec() {
+    }
+
+    public static byte[] encode(int[] values, int size) {
+        long plainBytes = 0;
+        long deltaBytes = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            plainBytes += varintLength(zigzag(values[i]));
+            deltaBytes += varintLength(zigzag(values[i] - previous));
+            previous = values[i];
+        }
+        boolean delta = deltaBytes < plainBytes;
+
+        byte[] payload = new byte[varintLength(size) + (int) Math.min(plainBytes, deltaBytes)];
+        int position = writeVarint(payload, 0, size);
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            // Differences wrap around like the values themselves, and unwrap the same way on decode
+            position = writeVarint(payload, position, zigzag(delta ? values[i] - previous : values[i]));
+            previous = values[i];
+        }
+
+        int flags = delta ? DELTA : 0;
+        if (payload.length >= DEFLATE_THRESHOLD_BYTES) {
+            byte[] deflated = deflate(payload);
+            byte[] framed = new byte[1 + varintLength(payload.length) + deflated.length];
+            if (framed.length < payload.length + 1) {
+                framed[0] = (byte) (flags | DEFLATE);
+                int offset = writeVarint(framed, 1, payload.length);
+                System.arraycopy(deflated, 0, framed, offset, deflated.length);
+                return framed;
+            }
+        }
+        byte[] encoded = new byte[payload.length + 1];
+        encoded[0] = (byte) flags;
+        System.arraycopy(payload, 0, encoded, 1, payload.length);
+        return encoded;
+    }
+
+    public static IntArrayList decode(byte[] encoded) {
+        if (encoded.length == 0) {
+            throw new IllegalArgumentException("Encoded input is empty.");
+        }
+        int flags = encoded[0];
+        byte[] payload = encoded;
+        int[] position = {1};
+        if ((flags & DEFLATE) != 0) {
+            int length = readVarint(encoded, position);
+            payload = inflate(encoded, position[0], length);
+            position[0] = 0;
+        }
+
+        int size = readVarint(payload, position);
+        // Every value takes at least one byte
+        if (size < 0 || size > payload.length - position[0]) {
+            throw new IllegalArgumentException("Encoded input count " + size + " exceeds its payload.");
+        }
+        int[] values = new int[size];
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int value = unzigzag(readVarint(payload, position));
+            values[i] = (flags & DELTA) != 0 ? previous + value : value;
+            previous = values[i];
+        }
+        return IntArrayList.of(values);
+    }
+
+    /**
+     * Values of a stored row, from the binary column or, for rows written before it existed,
+     * from the comma-separated text column.
+     */
+    public static IntArrayList read(byte[] encoded, String legacyJoined) {
+        if (encoded != null) {
+            return decode(encoded);
+        }
+        if (legacyJoined == null) {
+            throw new IllegalArgumentException("Stored row holds no input.");
+        }
+        return IntArrayList.parse(legacyJoined);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintLength(int value) {
+        return value == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(value)) / 7;
+    }
+
+    private static int writeVarint(byte[] target, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readVarint(byte[] source, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= source.length) {
+                throw new IllegalArgumentException("Encoded input ends inside a varint.");
+            }
+            byte b = source[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Encoded input holds a varint longer than five bytes.");
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] encoded, int offset, int length) {
+        // Deflate expands at most about 1032-fold, so a larger claimed length is corrupt
+        if (length < 0 || length > (encoded.length - offset) * 1032L) {
+            throw new IllegalArgumentException("Encoded input claims an implausible length of " + length + " bytes.");
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(encoded, offset, encoded.length - offset);
+            byte[] payload = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(payload, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("Encoded input inflates to " + read + " bytes, expected " + length + ".");
+            }
+            return payload;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Encoded input is not valid deflate data.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+/**
+ * Incremental 128-bit hash of an ordered int sequence.
+ * <p>
+ * Two independent polynomial lanes are evaluated modulo the Mersenne prime 2^61-1,
+ * so numbers can be fed one at a time while the input is still being read and the
+ * resulting key does not depend on how the list was chunked. Bases and salts are keyed
+ * by the {@link HashKey} the hasher is created with.
+ */
+public final class InputHasher implements KeyHasher {
+
+    static final long MOD = (1L << 61) - 1;
+
+    static final long BASE_HI = 0x1F3D5B79A2C4E6F1L % MOD;
+    static final long BASE_LO = 0x0B4F7E2D9C1A3856L % MOD;
+    static final long SALT_HI = 0x9E3779B97F4A7C15L;
+    static final long SALT_LO = 0xC2B2AE3D27D4EB4FL;
+    private static final long SEED_HI = 0x2545F4914F6CDD1DL % MOD;
+    private static final long SEED_LO = 0x5851F42D4C957F2DL % MOD;
+
+    private final long baseHi;
+    private final long baseLo;
+    private final long saltHi;
+    private final long saltLo;
+
+    private long hi = SEED_HI;
+    private long lo = SEED_LO;
+    private long length;
+
+    public InputHasher(HashKey hashKey) {
+        baseHi = hashKey.inputBaseHi;
+        baseLo = hashKey.inputBaseLo;
+        saltHi = hashKey.inputSaltHi;
+        saltLo = hashKey.inputSaltLo;
+    }
+
+    @Override
+    public void update(int value) {
+        hi = addMod(mulMod(hi, baseHi), mix(value, saltHi));
+        lo = addMod(mulMod(lo, baseLo), mix(value, saltLo));
+        length++;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public SumKey key() {
+        return new SumKey(hi, lo);
+    }
+
+    @Override
+    public void append(KeyHasher suffix) {
+        InputHasher other = (InputHasher) suffix;
+        SumKey combined = combine(baseHi, baseLo, key(), other.key(), other.length);
+        hi = combined.hi();
+        lo = combined.lo();
+        length += other.length;
+    }
+
+    /**
+     * Key of the concatenation of two lists from their keys alone:
+     * H(a||b) = (H(a) - SEED)*B^|b| + H(b), since both keys start from the seed.
+     */
+    public static SumKey combine(HashKey hashKey, SumKey prefix, SumKey suffix, long suffixLength) {
+        return combine(hashKey.inputBaseHi, hashKey.inputBaseLo, prefix, suffix, suffixLength);
+    }
+
+    public static SumKey hash(HashKey hashKey, int[] values, int offset, int count) {
+        InputHasher hasher = new InputHasher(hashKey);
+        for (int i = offset; i < offset + count; i++) {
+            hasher.update(values[i]);
+        }
+        return hasher.key();
+    }
+
+    private static SumKey combine(long baseHi, long baseLo, SumKey prefix, SumKey suffix, long suffixLength) {
+        long shiftHi = powMod(baseHi, suffixLength);
+        long shiftLo = powMod(baseLo, suffixLength);
+        return new SumKey(
+                addMod(mulMod(subMod(prefix.hi(), SEED_HI), shiftHi), suffix.hi()),
+                addMod(mulMod(subMod(prefix.lo(), SEED_LO), shiftLo), suffix.lo()));
+    }
+
+    static long mix(int value, long salt) {
+        long z = (value & 0xFFFFFFFFL) ^ salt;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= (z >>> 31);
+        return reduce((z & MOD) + (z >>> 61));
+    }
+
+    static long mulMod(long a, long b) {
+        long low = a * b;
+        long high = Math.multiplyHigh(a, b);
+        long folded = (low & MOD) + ((low >>> 61) | (high << 3));
+        return reduce((folded & MOD) + (folded >>> 61));
+    }
+
+    static long addMod(long a, long b) {
+        return reduce(a + b);
+    }
+
+    static long subMod(long a, long b) {
+        return a >= b ? a - b : a - b + MOD;
+    }
+
+    static long powMod(long base, long exponent) {
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = mulMod(result, base);
+            }
+            base = mulMod(base, base);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    private static long reduce(long value) {
+        return value >= MOD ? value - MOD : value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Computes the lookup key and the exact sum of an int array.
+ * <p>
+ * Arrays longer than the threshold are split across the common fork-join pool; halves
+ * are processed independently and partial keys are joined with {@link KeyHasher#append}.
+ * The key and the sum are separate passes because a cache hit needs only the key, and
+ * the sum reduction runs on the {@link SumKernels#selected() SIMD kernel} when available.
+ * The sum accumulates in a {@code long}: an int array holds fewer than 2^31 elements of
+ * magnitude at most 2^31, so the total never exceeds 2^62.
+ */
+public final class InputScanner {
+
+    private InputScanner() {
+    }
+
+    public static SumKey key(int[] values, int size, KeyCanonicalization canonicalization, HashKey hashKey,
+                             int parallelThreshold) {
+        return split(values, size, parallelThreshold, (from, to) -> {
+            KeyHasher hasher = canonicalization.newHasher(hashKey);
+            for (int i = from; i < to; i++) {
+                hasher.update(values[i]);
+            }
+            return hasher;
+        }, (prefix, suffix) -> {
+            prefix.append(suffix);
+            return prefix;
+        }).key();
+    }
+
+    public static long sum(int[] values, int size, int parallelThreshold) {
+        SumKernel kernel = SumKernels.selected();
+        return split(values, size, parallelThreshold, (from, to) -> kernel.sum(values, from, to), Long::sum);
+    }
+
+    private static <T> T split(int[] values, int size, int threshold, Leaf<T> leaf, BinaryOperator<T> combine) {
+        if (size <= threshold || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return leaf.compute(0, size);
+        }
+        return ForkJoinPool.commonPool().invoke(new SplitTask<>(0, size, threshold, leaf, combine));
+    }
+
+    @FunctionalInterface
+    private interface Leaf<T> {
+        T compute(int from, int to);
+    }
+
+    private static final class SplitTask<T> extends RecursiveTask<T> {
+
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Leaf<T> leaf;
+        private final BinaryOperator<T> combine;
+
+        private SplitTask(int from, int to, int threshold, Leaf<T> leaf, BinaryOperator<T> combine) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= threshold) {
+                return leaf.compute(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SplitTask<T> right = new SplitTask<>(middle, to, threshold, leaf, combine);
+            right.fork();
+            T left = new SplitTask<>(from, middle, threshold, leaf, combine).compute();
+            return combine.apply(left, right.join());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tokenizes a JSON array of integers straight into a primitive buffer.
+ * Strings, decimals and nulls are rejected instead of being coerced.
+ */
+public class IntArrayDeserializer extends JsonDeserializer<List<Integer>> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Override
+    public List<Integer> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return context.reportInputMismatch(this, "Expected an array of integers but found %s", parser.currentToken());
+        }
+
+        int[] values = new int[INITIAL_CAPACITY];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                return context.reportInputMismatch(this, "Expected an integer array element but found %s", token);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = parser.getIntValue();
+        }
+        return new IntArrayList(values, size);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.util.Arrays;
+
+/**
+ * Decides which number lists are treated as the same input, and therefore share a
+ * lookup key, a cached result and a stored {@code sum_data} row.
+ */
+public enum KeyCanonicalization {
+
+    /** Lists are distinct unless they hold the same numbers in the same order. */
+    ORDERED {
+        @Override
+        public KeyHasher newHasher(HashKey hashKey) {
+            return new InputHasher(hashKey);
+        }
+
+        @Override
+        public int[] canonicalOrder(int[] values, int size) {
+            return values;
+        }
+
+        @Override
+        public SumKey combine(HashKey hashKey, SumKey base, SumKey appended, long appendedLength) {
+            return InputHasher.combine(hashKey, base, appended, appendedLength);
+        }
+    },
+
+    /** Permutations of a list are one input; stored rows hold the numbers sorted ascending. */
+    MULTISET {
+        @Override
+        public KeyHasher newHasher(HashKey hashKey) {
+            return new MultisetHasher(hashKey);
+        }
+
+        @Override
+        public int[] canonicalOrder(int[] values, int size) {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        @Override
+        public SumKey combine(HashKey hashKey, SumKey base, SumKey appended, long appendedLength) {
+            return MultisetHasher.combine(base, appended);
+        }
+    };
+
+    public abstract KeyHasher newHasher(HashKey hashKey);
+
+    /**
+     * Returns the first {@code size} values in canonical order. May return {@code values}
+     * itself when no reordering is needed, so callers must not modify the result.
+     */
+    public abstract int[] canonicalOrder(int[] values, int size);
+
+    /**
+     * Key of {@code base} extended by {@code appended}, without revisiting the base values.
+     * Both keys must come from hashers created with {@code hashKey}.
+     */
+    public abstract SumKey combine(HashKey hashKey, SumKey base, SumKey appended, long appendedLength);
+
+    public boolean sameInput(int[] a, int aSize, int[] b, int bSize) {
+        if (aSize != bSize) {
+            return false;
+        }
+        return Arrays.equals(canonicalOrder(a, aSize), 0, aSize, canonicalOrder(b, bSize), 0, bSize);
+    }
+}
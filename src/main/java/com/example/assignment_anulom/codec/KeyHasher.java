@@ -0,0 +1,21 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+/**
+ * Folds an int sequence into a 128-bit lookup key one value at a time.
+ */
+public interface KeyHasher {
+
+    void update(int value);
+
+    long length();
+
+    SumKey key();
+
+    /**
+     * Extends this state as if every value fed to {@code suffix} had been fed here
+     * afterwards. {@code suffix} must be of the same implementation.
+     */
+    void append(KeyHasher suffix);
+}
@@ -0,0 +1,78 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import static com.example.assignment_anulom.codec.InputHasher.addMod;
+import static com.example.assignment_anulom.codec.InputHasher.mix;
+import static com.example.assignment_anulom.codec.InputHasher.mulMod;
+
+/**
+ * Order-independent 128-bit hash of an int multiset.
+ * <p>
+ * Each lane is the sum modulo 2^61-1 of the mixed values, which commutes, so any
+ * permutation of a list yields the same key without sorting it. Salts differ from
+ * {@link InputHasher} so ordered and multiset keys of one list never coincide; both are
+ * keyed by the {@link HashKey} the hasher is created with.
+ */
+public final class MultisetHasher implements KeyHasher {
+
+    static final long SALT_HI = 0xD6E8FEB86659FD93L;
+    static final long SALT_LO = 0xA0761D6478BD642FL;
+    private static final long LENGTH_WEIGHT_HI = 0x3C6EF372FE94F82BL % InputHasher.MOD;
+    private static final long LENGTH_WEIGHT_LO = 0x1B873593CC9E2D51L % InputHasher.MOD;
+
+    private final long saltHi;
+    private final long saltLo;
+
+    private long hi;
+    private long lo;
+    private long length;
+
+    public MultisetHasher(HashKey hashKey) {
+        saltHi = hashKey.multisetSaltHi;
+        saltLo = hashKey.multisetSaltLo;
+    }
+
+    @Override
+    public void update(int value) {
+        hi = addMod(hi, mix(value, saltHi));
+        lo = addMod(lo, mix(value, saltLo));
+        length++;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public SumKey key() {
+        // Folding in the length separates multisets whose mixed values happen to sum alike
+        long size = length % InputHasher.MOD;
+        return new SumKey(addMod(hi, mulMod(size, LENGTH_WEIGHT_HI)), addMod(lo, mulMod(size, LENGTH_WEIGHT_LO)));
+    }
+
+    @Override
+    public void append(KeyHasher suffix) {
+        MultisetHasher other = (MultisetHasher) suffix;
+        hi = addMod(hi, other.hi);
+        lo = addMod(lo, other.lo);
+        length += other.length;
+    }
+
+    /**
+     * Key of the union of two multisets from their keys alone. Both lane sums and the
+     * length term are linear, so the keys simply add.
+     */
+    public static SumKey combine(SumKey first, SumKey second) {
+        return new SumKey(addMod(first.hi(), second.hi()), addMod(first.lo(), second.lo()));
+    }
+
+    public static SumKey hash(HashKey hashKey, int[] values, int offset, int count) {
+        MultisetHasher hasher = new MultisetHasher(hashKey);
+        for (int i = offset; i < offset + count; i++) {
+            hasher.update(values[i]);
+        }
+        return hasher.key();
+    }
+}
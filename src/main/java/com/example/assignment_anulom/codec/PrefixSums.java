@@ -0,0 +1,45 @@
+package com.example.assignment_anulom.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Prefix-sum arrays and their fixed-width binary form. Entry {@code k} holds the sum of
+ * the first {@code k} values, so any inclusive range {@code [from, to]} sums to
+ * {@code prefix[to + 1] - prefix[from]}.
+ */
+public final class PrefixSums {
+
+    private PrefixSums() {
+    }
+
+    public static long[] build(int[] values, int size) {
+        long[] prefix = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            prefix[i + 1] = prefix[i] + values[i];
+        }
+        return prefix;
+    }
+
+    public static long rangeSum(long[] prefix, int from, int to) {
+        if (from < 0 || to < from || to >= prefix.length - 1) {
+            throw new IllegalArgumentException("Range [" + from + ", " + to + "] is outside a list of "
+                    + (prefix.length - 1) + " numbers.");
+        }
+        return prefix[to + 1] - prefix[from];
+    }
+
+    public static byte[] encode(long[] prefix) {
+        ByteBuffer buffer = ByteBuffer.allocate(prefix.length * Long.BYTES);
+        buffer.asLongBuffer().put(prefix);
+        return buffer.array();
+    }
+
+    public static long[] decode(byte[] bytes) {
+        if (bytes.length % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Prefix sums must be a whole number of longs.");
+        }
+        long[] prefix = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(prefix);
+        return prefix;
+    }
+}
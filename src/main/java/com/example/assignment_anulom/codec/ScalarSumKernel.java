@@ -0,0 +1,18 @@
+package com.example.assignment_anulom.codec;
+
+public final class ScalarSumKernel implements SumKernel {
+
+    public static final ScalarSumKernel INSTANCE = new ScalarSumKernel();
+
+    private ScalarSumKernel() {
+    }
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Consumes a number array token by token, folding each value into a running sum and
+ * the input key hash. Nothing but the accumulators is retained, so memory use is
+ * independent of the array length.
+ * <p>
+ * Accepts either the regular {@code {"numbers": [...]}} body or a bare top-level array.
+ */
+public class StreamingSumReader {
+
+    private static final String NUMBERS_FIELD = "numbers";
+
+    private final KeyHasher hasher;
+    private long sum;
+
+    public StreamingSumReader(KeyHasher hasher) {
+        this.hasher = hasher;
+    }
+
+    public void read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            readArray(parser);
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object or array but found " + token);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            token = parser.nextToken();
+            if (NUMBERS_FIELD.equals(field) && token == JsonToken.START_ARRAY) {
+                readArray(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    public long count() {
+        return hasher.length();
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public SumKey key() {
+        return hasher.key();
+    }
+
+    private void readArray(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                throw new JsonParseException(parser, "Expected an integer array element but found " + token);
+            }
+            int value = parser.getIntValue();
+            hasher.update(value);
+            sum += value;
+        }
+    }
+}
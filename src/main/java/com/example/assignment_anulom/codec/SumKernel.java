@@ -0,0 +1,9 @@
+package com.example.assignment_anulom.codec;
+
+/**
+ * Exact sum of a range of an int array.
+ */
+public interface SumKernel {
+
+    long sum(int[] values, int from, int to);
+}
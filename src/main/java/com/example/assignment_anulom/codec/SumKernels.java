@@ -0,0 +1,67 @@
+package com.example.assignment_anulom.codec;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+/**
+ * Picks the fastest {@link SumKernel} this JVM can run, once per process.
+ * <p>
+ * The SIMD kernel is compiled on its own from {@code src/vector/java}, the only source set
+ * built against the incubating Vector API, and is only ever reached by reflection from here.
+ */
+@Slf4j
+public final class SumKernels {
+
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_KERNEL = "com.example.assignment_anulom.codec.VectorSumKernel";
+
+    private static final SumKernel SELECTED = detect();
+
+    private SumKernels() {
+    }
+
+    public static SumKernel selected() {
+        return SELECTED;
+    }
+
+    /**
+     * The SIMD kernel whenever the JVM has the Vector API, even where {@link #selected()}
+     * passes it over for too few lanes.
+     */
+    public static Optional<SumKernel> vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((SumKernel) vectorKernel().getField("INSTANCE").get(null));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API unavailable", e);
+            return Optional.empty();
+        }
+    }
+
+    private static SumKernel detect() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("Using scalar sum kernel; start the JVM with --add-modules {} to enable SIMD", VECTOR_MODULE);
+            return ScalarSumKernel.INSTANCE;
+        }
+        try {
+            Class<?> kernel = vectorKernel();
+            int lanes = (int) kernel.getMethod("lanes").invoke(null);
+            if ((boolean) kernel.getMethod("isSupported").invoke(null)) {
+                log.info("Using SIMD sum kernel with {} int lanes", lanes);
+                return (SumKernel) kernel.getField("INSTANCE").get(null);
+            }
+            log.info("Using scalar sum kernel; preferred vector shape has only {} int lanes", lanes);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API unavailable, using scalar sum kernel", e);
+        }
+        return ScalarSumKernel.INSTANCE;
+    }
+
+    private static Class<?> vectorKernel() throws ClassNotFoundException {
+        return Class.forName(VECTOR_KERNEL);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-width snapshot file of cached results: a 24-byte header (magic, version, entry
+ * count, reserved, {@link HashKey#fingerprint() hash key fingerprint}) followed by 24-byte
+ * little-endian records of key and result. Records are written hottest first and read
+ * straight out of a read-only mapping; a file written under another hash key is rejected,
+ * since its keys would never match and might collide with live ones.
+ */
+public final class SumSnapshots {
+
+    private static final int MAGIC = 0x534D5331; // "SMS1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 24;
+
+    public interface EntryConsumer {
+        void accept(SumKey key, long result);
+    }
+
+    private SumSnapshots() {
+    }
+
+    /** Writes to a sibling temporary file and moves it into place, so readers never see a partial file. */
+    public static void write(Path file, long keyFingerprint, List<Map.Entry<SumKey, Long>> hottestFirst) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + hottestFirst.size() * RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(hottestFirst.size()).putInt(0).putLong(keyFingerprint);
+        for (Map.Entry<SumKey, Long> entry : hottestFirst) {
+            buffer.putLong(entry.getKey().hi()).putLong(entry.getKey().lo()).putLong(entry.getValue());
+        }
+        buffer.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replays records coldest first, so loading into an LRU leaves the hottest entries most
+     * recent. Returns the number of records read.
+     */
+    public static int read(Path file, long keyFingerprint, EntryConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Snapshot " + file + " is shorter than its header.");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Snapshot " + file + " has an unknown format.");
+            }
+            if (mapped.getLong(16) != keyFingerprint) {
+                throw new IOException("Snapshot " + file + " was written under a different hash key.");
+            }
+            int count = mapped.getInt(8);
+            if (count < 0 || length != HEADER_BYTES + (long) count * RECORD_BYTES) {
+                throw new IOException("Snapshot " + file + " is truncated.");
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                int offset = HEADER_BYTES + i * RECORD_BYTES;
+                consumer.accept(new SumKey(mapped.getLong(offset), mapped.getLong(offset + 8)), mapped.getLong(offset + 16));
+            }
+            return count;
+        }
+    }
+}
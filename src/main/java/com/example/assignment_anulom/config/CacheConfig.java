@@ -0,0 +1,53 @@
+package com.example.assignment_anulom.config;
+
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.cache.LocalSumCacheBus;
+import com.example.assignment_anulom.cache.OffHeapSumCache;
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.cache.SumCacheBus;
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.model.SumKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // Rough heap cost of a cached entry: map node, 128-bit key and boxed result
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    @Bean
+    public TieredSumCache sumResultCache(SumProperties properties, SumCacheBus sumCacheBus) {
+        SumProperties.Cache cache = properties.getCache();
+        BoundedLruCache<SumKey, Long> near = new BoundedLruCache<>(
+                cache.getMaxEntries(),
+                cache.getMaxSize().toBytes(),
+                (key, result) -> ENTRY_OVERHEAD_BYTES);
+
+        SumCache far = null;
+        SumProperties.OffHeap offHeap = cache.getOffHeap();
+        if (offHeap.isEnabled()) {
+            far = offHeap.getFile() != null
+                    ? OffHeapSumCache.map(offHeap.getFile(), offHeap.getMaxSize().toBytes())
+                    : OffHeapSumCache.allocate(offHeap.getMaxSize().toBytes());
+        }
+        return new TieredSumCache(near, far, sumCacheBus);
+    }
+
+    // Replace with a broker-backed bus to share puts and invalidations across hosts
+    @Bean
+    @ConditionalOnMissingBean
+    public SumCacheBus sumCacheBus() {
+        return new LocalSumCacheBus();
+    }
+
+    @Bean
+    public BoundedLruCache<Long, long[]> prefixSumCache(SumProperties properties) {
+        SumProperties.Prefix prefix = properties.getPrefix();
+        return new BoundedLruCache<>(
+                prefix.getMaxEntries(),
+                prefix.getMaxSize().toBytes(),
+                (id, sums) -> ENTRY_OVERHEAD_BYTES + (long) sums.length * Long.BYTES);
+    }
+}
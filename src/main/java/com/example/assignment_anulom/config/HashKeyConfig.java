@@ -0,0 +1,29 @@
+package com.example.assignment_anulom.config;
+
+import com.example.assignment_anulom.codec.HashKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link HashKey} every content hash is computed under. Shared by the servlet
+ * and reactive applications, so both key their caches and rows alike.
+ */
+@Slf4j
+@Configuration
+public class HashKeyConfig {
+
+    @Bean
+    public HashKey hashKey(SumProperties properties) {
+        SumProperties.Key key = properties.getKey();
+        HashKey hashKey = HashKey.of(key.getSecret());
+        if (!hashKey.isKeyed()) {
+            if (!key.isAllowPublishedConstants()) {
+                throw new IllegalStateException("sum.key.secret is not set. Set it to the same value on every instance, "
+                        + "or set sum.key.allow-published-constants to hash with the published constants.");
+            }
+            log.warn("sum.key.secret is not set; inputs sharing a cache key can be worked out from the published hash constants");
+        }
+        return hashKey;
+    }
+}
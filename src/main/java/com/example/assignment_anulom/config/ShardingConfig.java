@@ -0,0 +1,76 @@
+package com.example.assignment_anulom.config;
+
+import com.example.assignment_anulom.repository.SumShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public SumShards sumShards(SumProperties properties, JdbcTemplate jdbcTemplate) {
+        // Every pool built here, closed again if anything after it fails, since no bean owns them yet
+        List<HikariDataSource> created = new ArrayList<>();
+        try {
+            return build(properties, jdbcTemplate, created);
+        } catch (RuntimeException e) {
+            for (HikariDataSource pool : created) {
+                pool.close();
+            }
+            throw e;
+        }
+    }
+
+    private static SumShards build(SumProperties properties, JdbcTemplate jdbcTemplate, List<HikariDataSource> created) {
+        SumProperties.Sharding sharding = properties.getSharding();
+        SumProperties.Replication replication = properties.getReplication();
+        if (sharding.getShards().isEmpty()) {
+            return SumShards.single(jdbcTemplate, replicas("primary", replication.getReplicas(), replication, created),
+                    replication.getReadYourWrites());
+        }
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        List<List<HikariDataSource>> replicas = new ArrayList<>();
+        for (SumProperties.Shard shard : sharding.getShards()) {
+            String name = "sum-shard-" + dataSources.size();
+            dataSources.add(pool(name, shard, created));
+            replicas.add(replicas(name, shard.getReplicas(), replication, created));
+        }
+        int active = sharding.getActiveShards() > 0 ? sharding.getActiveShards() : dataSources.size();
+        SumShards shards = SumShards.of(dataSources, replicas, active, replication.getReadYourWrites());
+        if (sharding.isInitializeSchema()) {
+            shards.initializeSchema();
+        }
+        return shards;
+    }
+
+    private static List<HikariDataSource> replicas(String name, List<SumProperties.Database> replicas,
+                                                   SumProperties.Replication replication, List<HikariDataSource> created) {
+        List<HikariDataSource> pools = new ArrayList<>(replicas.size());
+        for (SumProperties.Database replica : replicas) {
+            HikariDataSource pool = pool(name + "-replica-" + pools.size(), replica, created);
+            pool.setReadOnly(true);
+            // A lookup stuck on an unreachable replica falls back to the primary after this long
+            pool.setConnectionTimeout(Math.max(250, replication.getHealthCheckTimeout().toMillis()));
+            // Start even if a replica is down; the health check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pools.add(pool);
+        }
+        return pools;
+    }
+
+    private static HikariDataSource pool(String name, SumProperties.Database database, List<HikariDataSource> created) {
+        HikariDataSource dataSource = new HikariDataSource();
+        created.add(dataSource);
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(database.getUrl());
+        dataSource.setUsername(database.getUsername());
+        dataSource.setPassword(database.getPassword());
+        dataSource.setMaximumPoolSize(database.getMaximumPoolSize());
+        return dataSource;
+    }
+}
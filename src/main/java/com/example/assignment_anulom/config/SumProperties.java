@@ -0,0 +1,210 @@
+package com.example.assignment_anulom.config;
+
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.services.SumWriteBehind;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sum")
+public class SumProperties {
+
+    private Key key = new Key();
+
+    private Parallel parallel = new Parallel();
+
+    private Cache cache = new Cache();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Batch batch = new Batch();
+
+    private Binary binary = new Binary();
+
+    private Prefix prefix = new Prefix();
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private DbLimiter dbLimiter = new DbLimiter();
+
+    private Storage storage = new Storage();
+
+    private Retention retention = new Retention();
+
+    private Sharding sharding = new Sharding();
+
+    private Replication replication = new Replication();
+
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    @Data
+    public static class Key {
+        // Changing this on a populated table leaves earlier rows unreachable rather than wrong
+        private KeyCanonicalization canonicalization = KeyCanonicalization.ORDERED;
+        // Keys the content hash so colliding inputs cannot be worked out offline. Set the same
+        // value on every instance; like the canonicalization, changing it orphans stored rows.
+        private String secret = "";
+        // Without a secret startup fails, unless the published constants are explicitly accepted
+        private boolean allowPublishedConstants = false;
+    }
+
+    @Data
+    public static class Parallel {
+        // Inputs up to this length are scanned on the calling thread
+        private int threshold = 1 << 16;
+    }
+
+    @Data
+    public static class Cache {
+        // Near tier on the heap
+        private int maxEntries = 10_000;
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+        private OffHeap offHeap = new OffHeap();
+    }
+
+    @Data
+    public static class OffHeap {
+        private boolean enabled = true;
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+        // When set, instances on the same host mapping this file share the tier
+        private Path file;
+    }
+
+    @Data
+    public static class Snapshot {
+        // Unset disables snapshotting and reloading
+        private Path file;
+        private Duration interval = Duration.ofMinutes(5);
+        private int maxEntries = 10_000;
+        // Most hit rows loaded from the database on startup, before the snapshot
+        private int preloadRows = 0;
+    }
+
+    @Data
+    public static class Batch {
+        private int maxRequests = 1000;
+    }
+
+    @Data
+    public static class Binary {
+        // Larger application/x-sum-int32 requests are answered with 413
+        private int maxElements = 1 << 24;
+    }
+
+    @Data
+    public static class Prefix {
+        // Decoded prefix-sum arrays kept in memory, bounded like the result cache
+        private int maxEntries = 1000;
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int queueCapacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(200);
+        private SumWriteBehind.OverflowPolicy overflowPolicy = SumWriteBehind.OverflowPolicy.WRITE_THROUGH;
+    }
+
+    @Data
+    public static class DbLimiter {
+        // Keep at or below the connection pool size
+        private int permits = 10;
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Storage {
+        // Rewrite text-encoded rows into input_data in the background after startup; both forms
+        // are read either way
+        private boolean migrateLegacyRows = false;
+        // Fill in input_hash for rows written before it existed, in the background after startup.
+        // Until then such rows are not found by lookups and their inputs are simply stored again.
+        private boolean backfillInputHash = false;
+        // Rows per chunk, and the pause between chunks, for both of the above
+        private int backfillChunkSize = 500;
+        private Duration backfillChunkPause = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Retention {
+        // Off: no access tracking and no deletes
+        private boolean enabled = false;
+        // Rows idle longer than this are removed unless they have at least hotHits hits...
+        private Duration ttl = Duration.ofDays(30);
+        private long hotHits = 10;
+        // ...in which case they are kept until idle this long
+        private Duration hotTtl = Duration.ofDays(180);
+        private Duration interval = Duration.ofMinutes(10);
+        // Rows deleted per statement, and the pause between statements
+        private int chunkSize = 500;
+        private Duration chunkPause = Duration.ofMillis(100);
+        // Hits are counted in memory and written to the table this often
+        private Duration flushInterval = Duration.ofSeconds(30);
+        private int maxTrackedKeys = 100_000;
+    }
+
+    @Data
+    public static class Sharding {
+        // Empty: sum_data lives on the primary datasource. Appending is unavailable otherwise,
+        // and the order matters: rows are placed by their index in this list.
+        private List<Shard> shards = new ArrayList<>();
+        // Rows are placed on the first this many shards; 0 for all. To remove shards, lower this,
+        // rebalance, and only then drop them from the end of the list.
+        private int activeShards = 0;
+        // Create sum_data on each shard that does not have it yet
+        private boolean initializeSchema = true;
+        // Move rows to the shard they now map to on startup, after shards were added or removed
+        private boolean rebalance = false;
+        private int rebalanceChunkSize = 500;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Shard extends Database {
+        private List<Database> replicas = new ArrayList<>();
+    }
+
+    @Data
+    public static class Database {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    @Data
+    public static class Replication {
+        // Read replicas of the primary datasource; with sharding, each shard lists its own instead
+        private List<Database> replicas = new ArrayList<>();
+        // Lookups of keys written this recently go to the primary; keep above the replication lag
+        private Duration readYourWrites = Duration.ofSeconds(5);
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        // Also how long a lookup waits for a replica connection before falling back to the primary
+        private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+        // Off: cache misses of /api/sum are admitted however slow the database gets
+        private boolean enabled = false;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        // Latency may exceed its long-term average by this factor before the limit shrinks
+        private double rttTolerance = 1.5;
+        // Samples the long-term average spans
+        private int longWindow = 600;
+        private double smoothing = 0.2;
+        // Sent as Retry-After with the 503 for a rejected request
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
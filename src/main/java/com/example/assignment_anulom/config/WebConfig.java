@@ -0,0 +1,22 @@
+package com.example.assignment_anulom.config;
+
+import com.example.assignment_anulom.codec.BinarySumMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Last, so JSON stays the default answer to Accept: */* and binary needs an explicit Accept
+        converters.add(new BinarySumMessageConverter(sumProperties.getBinary().getMaxElements()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.assignment_anulom.controller;
+
+import com.example.assignment_anulom.model.PrefixIndexResponse;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import com.example.assignment_anulom.services.PrefixSumServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/sum/prefix")
+@Tag(name = "Range Sum Controller", description = "Registers lists once and answers range sums from a prefix-sum index")
+public class RangeSumController {
+
+    @Autowired
+    private PrefixSumServices prefixSumServices;
+
+    @PostMapping
+    @Operation(summary = "Register a list and build its prefix-sum index")
+    public ResponseEntity<PrefixIndexResponse> register(@RequestBody SumRequest request) {
+        return ResponseEntity.ok(prefixSumServices.register(request));
+    }
+
+    @GetMapping("/{id}/range")
+    @Operation(summary = "Sum of positions from..to (inclusive, zero-based) of a registered list")
+    public ResponseEntity<SumResponse> rangeSum(@PathVariable long id, @RequestParam int from, @RequestParam int to) {
+        try {
+            return prefixSumServices.rangeSum(id, from, to)
+                    .map(ResponseEntity::ok)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No registered list with id " + id));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
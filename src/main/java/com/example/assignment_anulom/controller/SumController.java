@@ -2,12 +2,30 @@ package com.example.assignment_anulom.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.assignment_anulom.cache.CacheStats;
+import com.example.assignment_anulom.metrics.SumMetrics;
+import com.example.assignment_anulom.model.AppendRequest;
+import com.example.assignment_anulom.model.AppendResponse;
 import com.example.assignment_anulom.model.SumRequest;
 import com.example.assignment_anulom.model.SumResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.example.assignment_anulom.services.AppendConflictException;
+import com.example.assignment_anulom.services.AppendNotSupportedException;
+import com.example.assignment_anulom.services.InvalidAppendException;
+import com.example.assignment_anulom.services.SumOverloadedException;
 import com.example.assignment_anulom.services.SumServices;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/sum")
@@ -17,9 +35,61 @@ public class SumController {
     @Autowired
     private SumServices sumServices;
 
+    @Autowired
+    private SumMetrics sumMetrics;
+
     @PostMapping
     @Operation(summary = "Calculate sum of a list of integers")
     public ResponseEntity<SumResponse> calculate(@RequestBody SumRequest request) {
-        return ResponseEntity.ok(sumServices.computeSum(request));
+        try {
+            return ResponseEntity.ok(sumMetrics.request("calculate").record(() -> sumServices.computeSum(request)));
+        } catch (SumOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .build();
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Calculate sums of many lists in a single database round trip")
+    public ResponseEntity<List<SumResponse>> calculateBatch(@RequestBody List<SumRequest> requests) {
+        return ResponseEntity.ok(sumMetrics.request("batch").record(() -> sumServices.computeSums(requests)));
+    }
+
+    @PostMapping(path = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Calculate sum of an arbitrarily large list, reading the body incrementally")
+    public ResponseEntity<SumResponse> calculateStreaming(InputStream body) throws IOException {
+        try {
+            Timer.Sample sample = Timer.start();
+            try {
+                return ResponseEntity.ok(sumServices.computeStreamingSum(body));
+            } finally {
+                sample.stop(sumMetrics.request("stream"));
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage(), e);
+        }
+    }
+
+    @PostMapping("/append")
+    @Operation(summary = "Append numbers to a stored input and return the updated sum")
+    public ResponseEntity<AppendResponse> append(@RequestBody AppendRequest request) {
+        try {
+            return sumServices.append(request)
+                    .map(ResponseEntity::ok)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Base input not found"));
+        } catch (IllegalArgumentException | InvalidAppendException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (AppendConflictException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (AppendNotSupportedException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Hit, miss and eviction counters of the result cache")
+    public ResponseEntity<CacheStats> cacheStats() {
+        return ResponseEntity.ok(sumServices.cacheStats());
     }
 }
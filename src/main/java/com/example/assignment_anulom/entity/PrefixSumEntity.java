@@ -0,0 +1,34 @@
+package com.example.assignment_anulom.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Table(name = "prefix_sum_index", indexes = {
+        @Index(name = "idx_prefix_sum_index_input_hash", columnList = "inputHash", unique = true)
+})
+public class PrefixSumEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Ordered 128-bit key of the registered list, so registering it again returns this row
+    @Column(length = 16)
+    private byte[] inputHash;
+
+    private int length;
+
+    // length + 1 big-endian longs; entry k is the sum of the first k numbers
+    @Lob
+    private byte[] prefixSums;
+}
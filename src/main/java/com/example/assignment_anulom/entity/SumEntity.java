@@ -13,16 +13,40 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 
-@Table(name = "sum_data")
+@Table(name = "sum_data", indexes = {
+        @Index(name = "idx_sum_data_input_hash", columnList = "inputHash", unique = true),
+        @Index(name = "idx_sum_data_last_accessed_at", columnList = "lastAccessedAt"),
+        @Index(name = "idx_sum_data_parent_id", columnList = "parentId"),
+        // Lets the cache warmer read the most hit rows without sorting the table
+        @Index(name = "idx_sum_data_hit_count", columnList = "hitCount")
+})
 public class SumEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(length = 1000, unique = true)
+    // 128-bit content key; the only column the lookup path reads through an index
+    @Column(length = 16)
+    private byte[] inputHash;
+
+    // Full input kept out of the index, only read back to verify a hash match, in the
+    // compact InputCodec form. For a row created by an append this is only the appended delta.
+    @Lob
+    private byte[] inputData;
+
+    // Comma-separated form of rows written before inputData; null for newer rows
+    @Lob
     private String inputNumbers;
 
-    private int result;
-}
+    private long result;
 
+    // Row this one extends by appending its own input; null for a complete input
+    private Long parentId;
+
+    // Epoch millis of the last hit, flushed in batches by SumAccessTracker; null for rows
+    // written before access tracking existed until retention stamps them
+    private Long lastAccessedAt;
+
+    private long hitCount;
+}
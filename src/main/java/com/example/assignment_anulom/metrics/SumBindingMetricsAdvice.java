@@ -0,0 +1,57 @@
+package com.example.assignment_anulom.metrics;
+
+import com.example.assignment_anulom.controller.SumController;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times request body conversion for {@link SumController}, which happens before the
+ * handler method runs and is therefore invisible to timers inside it.
+ */
+@ControllerAdvice(assignableTypes = SumController.class)
+public class SumBindingMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    // Kept on the request rather than the thread: a failed conversion skips afterBodyRead,
+    // and nothing must then be left behind for the next request served by a pooled thread
+    private static final String BIND_START = SumBindingMetricsAdvice.class.getName() + ".bindStart";
+
+    @Autowired
+    private SumMetrics sumMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(BIND_START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Long start = (Long) attributes.getAttribute(BIND_START, RequestAttributes.SCOPE_REQUEST);
+        if (start != null) {
+            attributes.removeAttribute(BIND_START, RequestAttributes.SCOPE_REQUEST);
+            Timer timer = sumMetrics.stage(SumMetrics.Stage.BIND);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return body;
+    }
+}
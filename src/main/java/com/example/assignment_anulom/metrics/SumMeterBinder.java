@@ -0,0 +1,132 @@
+package com.example.assignment_anulom.metrics;
+
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.repository.SumShards;
+import com.example.assignment_anulom.services.AdaptiveConcurrencyLimiter;
+import com.example.assignment_anulom.services.DatabaseCallLimiter;
+import com.example.assignment_anulom.services.SumAccessTracker;
+import com.example.assignment_anulom.services.SumRetentionCompactor;
+import com.example.assignment_anulom.services.SumServices;
+import com.example.assignment_anulom.services.SumWriteBehind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes result cache tiers, write-behind queue, database and concurrency limiters, retention
+ * and replica state. Connection pool usage itself is published by Spring Boot's Hikari metrics
+ * ({@code hikaricp.connections.*}).
+ */
+@Component
+public class SumMeterBinder implements MeterBinder {
+
+    @Autowired
+    private TieredSumCache sumResultCache;
+
+    @Autowired
+    private SumServices sumServices;
+
+    @Autowired
+    private SumWriteBehind sumWriteBehind;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @Autowired
+    private SumAccessTracker sumAccessTracker;
+
+    @Autowired
+    private SumRetentionCompactor sumRetentionCompactor;
+
+    @Autowired
+    private SumShards sumShards;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sum.cache.requests", sumResultCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("sum.cache.requests", sumResultCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("sum.cache.evictions", sumResultCache, cache -> cache.stats().evictions())
+                .register(registry);
+        Gauge.builder("sum.cache.size", sumResultCache, cache -> cache.stats().size())
+                .register(registry);
+        Gauge.builder("sum.cache.estimated.bytes", sumResultCache, cache -> cache.stats().estimatedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("sum.cache.near.size", sumResultCache, cache -> cache.nearStats().size())
+                .register(registry);
+        if (sumResultCache.farStats() != null) {
+            FunctionCounter.builder("sum.cache.offheap.requests", sumResultCache, cache -> cache.farStats().hits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("sum.cache.offheap.requests", sumResultCache, cache -> cache.farStats().misses())
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("sum.cache.offheap.size", sumResultCache, cache -> cache.farStats().size())
+                    .description("Occupied slots, including entries written by instances sharing the table")
+                    .register(registry);
+        }
+
+        FunctionCounter.builder("sum.requests.coalesced", sumServices, SumServices::coalescedRequests)
+                .description("Cache misses answered by a concurrent identical request's lookup")
+                .register(registry);
+
+        Gauge.builder("sum.writebehind.pending", sumWriteBehind, SumWriteBehind::pending)
+                .register(registry);
+        FunctionCounter.builder("sum.writebehind.written", sumWriteBehind, SumWriteBehind::written)
+                .register(registry);
+        FunctionCounter.builder("sum.writebehind.dropped", sumWriteBehind, SumWriteBehind::dropped)
+                .register(registry);
+
+        Gauge.builder("sum.db.limiter.available", databaseCallLimiter, DatabaseCallLimiter::availablePermits)
+                .description("Free database call permits")
+                .register(registry);
+        Gauge.builder("sum.db.limiter.queued", databaseCallLimiter, DatabaseCallLimiter::queueLength)
+                .description("Threads waiting for a database call permit")
+                .register(registry);
+        Gauge.builder("sum.concurrency.limit", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on concurrent cache misses")
+                .register(registry);
+        Gauge.builder("sum.concurrency.inflight", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                .register(registry);
+        FunctionCounter.builder("sum.concurrency.rejected", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::rejected)
+                .description("Requests answered with 503 because the limit was reached")
+                .register(registry);
+
+        Gauge.builder("sum.retention.tracked", sumAccessTracker, SumAccessTracker::tracked)
+                .description("Stored inputs with hits not yet written to sum_data")
+                .register(registry);
+        FunctionCounter.builder("sum.retention.untracked", sumAccessTracker, SumAccessTracker::untracked)
+                .description("Hits not counted because too many inputs were already tracked")
+                .register(registry);
+        FunctionCounter.builder("sum.retention.deleted", sumRetentionCompactor, SumRetentionCompactor::deletedRows)
+                .baseUnit("rows")
+                .register(registry);
+        FunctionCounter.builder("sum.retention.reclaimed", sumRetentionCompactor, SumRetentionCompactor::reclaimedBytes)
+                .description("Estimated row and index bytes freed by retention deletes")
+                .baseUnit("bytes")
+                .register(registry);
+
+        if (sumShards.hasReplicas()) {
+            Gauge.builder("sum.replica.healthy", sumShards, SumShards::healthyReplicas)
+                    .description("Read replicas currently in the lookup rotation")
+                    .register(registry);
+            FunctionCounter.builder("sum.replica.reads", sumShards, SumShards::replicaReads)
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("sum.replica.reads", sumShards, SumShards::primaryReads)
+                    .tag("target", "primary")
+                    .description("Lookups sent to the primary for read-your-writes or for lack of a healthy replica")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.assignment_anulom.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency and size meters for the stages of a sum request. Every meter publishes a
+ * percentile histogram, so p99 can be computed with {@code histogram_quantile} across instances.
+ */
+@Component
+public class SumMetrics {
+
+    public enum Stage {
+        /** JSON body to {@code SumRequest}. */
+        BIND,
+        /** Hashing the input into its lookup key. */
+        KEY,
+        /** In-memory result cache lookup. */
+        CACHE,
+        /** Stored-result lookup in {@code sum_data}. */
+        LOOKUP,
+        /** Insert or hand-off of a newly computed row. */
+        PERSIST
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final DistributionSummary inputSize;
+
+    public SumMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("sum.stage")
+                    .description("Time spent in one stage of a sum request")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.inputSize = DistributionSummary.builder("sum.input.size")
+                .description("Number of integers per summed list")
+                .baseUnit("numbers")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public Timer stage(Stage stage) {
+        return stageTimers.get(stage);
+    }
+
+    public Timer request(String operation) {
+        return Timer.builder("sum.request")
+                .description("End-to-end handling of a sum endpoint, excluding body binding")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordInputSize(long size) {
+        inputSize.record(size);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.assignment_anulom.model;
+
+import com.example.assignment_anulom.codec.IntArrayDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Numbers to append to a stored input, referenced either by row id or by the hex
+ * key returned from a previous append.
+ */
+@Data
+public class AppendRequest {
+    private Long baseId;
+    private String baseHash;
+
+    @JsonDeserialize(using = IntArrayDeserializer.class)
+    private List<Integer> numbers;
+}
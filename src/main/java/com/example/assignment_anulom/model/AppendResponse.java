@@ -0,0 +1,12 @@
+package com.example.assignment_anulom.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AppendResponse {
+    private long id;
+    private String hash;
+    private long result;
+}
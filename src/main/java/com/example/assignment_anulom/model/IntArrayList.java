@@ -0,0 +1,83 @@
+package com.example.assignment_anulom.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@code List<Integer>} view over a primitive {@code int[]}, so large
+ * request payloads are held without boxing each element.
+ */
+public final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] values;
+    private final int size;
+
+    public IntArrayList(int[] values, int size) {
+        if (size < 0 || size > values.length) {
+            throw new IllegalArgumentException("Size out of bounds: " + size);
+        }
+        this.values = values;
+        this.size = size;
+    }
+
+    public static IntArrayList of(int... values) {
+        return new IntArrayList(values, values.length);
+    }
+
+    /**
+     * Returns the given list as an {@code IntArrayList}, copying only when it is not one already.
+     */
+    public static IntArrayList from(List<Integer> numbers) {
+        if (numbers instanceof IntArrayList primitive) {
+            return primitive;
+        }
+        int[] values = new int[numbers.size()];
+        int i = 0;
+        for (Integer number : numbers) {
+            values[i++] = number;
+        }
+        return new IntArrayList(values, values.length);
+    }
+
+    /**
+     * Parses the comma-separated form stored in {@code sum_data.input_numbers}.
+     */
+    public static IntArrayList parse(String joined) {
+        String[] tokens = joined.split(",");
+        int[] values = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            values[i] = Integer.parseInt(tokens[i].trim());
+        }
+        return of(values);
+    }
+
+    public int getInt(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    /**
+     * Backing array; only the first {@link #size()} slots are meaningful.
+     */
+    public int[] array() {
+        return values;
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.assignment_anulom.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PrefixIndexResponse {
+    private long id;
+    private int length;
+}
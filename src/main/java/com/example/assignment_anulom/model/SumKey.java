@@ -0,0 +1,32 @@
+package com.example.assignment_anulom.model;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+/**
+ * Fixed-width 128-bit content key of an input list, used for cache and index lookups.
+ */
+public record SumKey(long hi, long lo) {
+
+    public static final int BYTES = 16;
+
+    public static SumKey fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("Sum key must be " + BYTES + " bytes.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new SumKey(buffer.getLong(), buffer.getLong());
+    }
+
+    public static SumKey fromHex(String hex) {
+        return fromBytes(HexFormat.of().parseHex(hex));
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(hi).putLong(lo).array();
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(toBytes());
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.assignment_anulom.model;
 
+import com.example.assignment_anulom.codec.IntArrayDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
 
 import java.util.List;
 
 @Data
 public class SumRequest {
+    @JsonDeserialize(using = IntArrayDeserializer.class)
     public List<Integer> numbers;
 }
@@ -6,5 +6,6 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class SumResponse {
-    private int result;
+    // Exact for any input: a list of ints cannot sum beyond the long range
+    private long result;
 }
@@ -0,0 +1,10 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.entity.PrefixSumEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PrefixSumRepository extends JpaRepository<PrefixSumEntity, Long> {
+    Optional<PrefixSumEntity> findByInputHash(byte[] inputHash);
+}
@@ -0,0 +1,57 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.model.SumKey;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keys written within at least the last {@code window}, and at most twice that. Keys are kept
+ * in two generations and the older one is dropped every window, so memory follows the write
+ * rate without a per-key expiry.
+ */
+class RecentWrites {
+
+    private final long windowNanos;
+
+    private volatile Set<SumKey> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<SumKey> previous = ConcurrentHashMap.newKeySet();
+    private volatile long rotatedAt = System.nanoTime();
+
+    RecentWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    void record(SumKey key) {
+        if (windowNanos > 0) {
+            rotateIfDue();
+            current.add(key);
+        }
+    }
+
+    boolean contains(SumKey key) {
+        if (windowNanos <= 0) {
+            return false;
+        }
+        rotateIfDue();
+        return current.contains(key) || previous.contains(key);
+    }
+
+    private void rotateIfDue() {
+        long now = System.nanoTime();
+        if (now - rotatedAt < windowNanos) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = now - rotatedAt;
+            if (elapsed < windowNanos) {
+                return;
+            }
+            // After two idle windows the current generation is as stale as the previous one
+            previous = elapsed < 2 * windowNanos ? current : ConcurrentHashMap.newKeySet();
+            current = ConcurrentHashMap.newKeySet();
+            rotatedAt = now;
+        }
+    }
+}
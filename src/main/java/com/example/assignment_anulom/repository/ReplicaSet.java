@@ -0,0 +1,104 @@
+package com.example.assignment_anulom.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas of one database, handed out round-robin among those that passed their last
+ * health check. A replica that fails a read is taken out of rotation until a later check
+ * finds it healthy again.
+ */
+@Slf4j
+public class ReplicaSet {
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(String name, List<JdbcTemplate> replicas) {
+        List<Replica> list = new ArrayList<>(replicas.size());
+        for (JdbcTemplate replica : replicas) {
+            list.add(new Replica(name + " replica " + list.size(), replica));
+        }
+        this.replicas = List.copyOf(list);
+    }
+
+    /** A healthy replica, or null if there is none. */
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void checkHealth(Duration timeout) {
+        for (Replica replica : replicas) {
+            replica.check(timeout);
+        }
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public int healthy() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+
+        // Optimistic until the first check, so reads use replicas right after startup
+        private volatile boolean healthy = true;
+
+        private Replica(String name, JdbcTemplate jdbcTemplate) {
+            this.name = name;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        JdbcTemplate jdbcTemplate() {
+            return jdbcTemplate;
+        }
+
+        void markDown(DataAccessException cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Taking {} out of rotation after a failed read", name, cause);
+            }
+        }
+
+        private void check(Duration timeout) {
+            int seconds = (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+            boolean valid;
+            try {
+                valid = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> connection.isValid(seconds)));
+            } catch (DataAccessException e) {
+                valid = false;
+            }
+            if (valid != healthy) {
+                log.info("{} is {}", name, valid ? "healthy again" : "unhealthy");
+            }
+            healthy = valid;
+        }
+    }
+}
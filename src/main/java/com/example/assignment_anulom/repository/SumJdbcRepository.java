@@ -0,0 +1,225 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.model.SumKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Plain JDBC access to {@code sum_data} for the per-request lookup and insert, and for write
+ * patterns Hibernate cannot batch, such as multi-row inserts into a table with an IDENTITY key.
+ * Rows read here are detached: no persistence context, dirty checking or flush is involved.
+ * Every statement goes to the shard of the keys involved, see {@link SumShards}; maintenance
+ * queries take the shard explicitly. Lookups by key may be answered by a read replica.
+ * {@link SumRequestRepository} remains for id-based and admin queries against the primary
+ * datasource.
+ */
+@Repository
+public class SumJdbcRepository {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, input_hash, input_data, input_numbers, result, parent_id, last_accessed_at, hit_count FROM sum_data";
+
+    private static final String SELECT_BY_HASH_SQL = SELECT_COLUMNS + " WHERE input_hash = ?";
+
+    private static final String SELECT_BY_ID_SQL = SELECT_COLUMNS + " WHERE id = ?";
+
+    private static final String SELECT_AFTER_ID_SQL = SELECT_COLUMNS + " WHERE id > ? ORDER BY id LIMIT ?";
+
+    // No LOBs, and read backwards along idx_sum_data_hit_count, so only the returned rows are touched
+    private static final String SELECT_HOTTEST_SQL =
+            "SELECT input_hash, result, hit_count FROM sum_data WHERE input_hash IS NOT NULL ORDER BY hit_count DESC LIMIT ?";
+
+    // A row stored concurrently under the same content hash is left as it is
+    private static final String UPSERT_SQL =
+            "INSERT INTO sum_data (input_hash, input_data, result, parent_id, last_accessed_at, hit_count)"
+                    + " VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String RECORD_ACCESS_SQL =
+            "UPDATE sum_data SET hit_count = hit_count + ?, last_accessed_at = ? WHERE input_hash = ?";
+
+    private static final String STAMP_UNACCESSED_SQL =
+            "UPDATE sum_data SET last_accessed_at = ? WHERE last_accessed_at IS NULL LIMIT ?";
+
+    // Rows other rows were appended to stay until their children are gone
+    private static final String SELECT_EVICTABLE_SQL =
+            "SELECT s.id, COALESCE(OCTET_LENGTH(s.input_data), 0) + COALESCE(OCTET_LENGTH(s.input_numbers), 0) AS input_bytes"
+                    + " FROM sum_data s"
+                    + " WHERE ((s.last_accessed_at < ? AND s.hit_count < ?) OR s.last_accessed_at < ?)"
+                    + " AND NOT EXISTS (SELECT 1 FROM sum_data c WHERE c.parent_id = s.id)"
+                    + " LIMIT ?";
+
+    private static final RowMapper<SumEntity> ROW_MAPPER = (rs, rowNum) -> new SumEntity(
+            rs.getLong("id"),
+            rs.getBytes("input_hash"),
+            rs.getBytes("input_data"),
+            rs.getString("input_numbers"),
+            rs.getLong("result"),
+            rs.getObject("parent_id", Long.class),
+            rs.getObject("last_accessed_at", Long.class),
+            rs.getLong("hit_count"));
+
+    @Autowired
+    private SumShards sumShards;
+
+    public int shardCount() {
+        return sumShards.count();
+    }
+
+    public Optional<SumEntity> findByInputHash(byte[] inputHash) {
+        return sumShards.read(SumKey.fromBytes(inputHash),
+                jdbc -> jdbc.query(SELECT_BY_HASH_SQL, ROW_MAPPER, (Object) inputHash).stream().findFirst());
+    }
+
+    /** Stored rows for any of the given hashes, with one {@code IN} query per shard involved. */
+    public List<SumEntity> findAllByInputHash(Collection<byte[]> inputHashes) {
+        List<SumEntity> found = new ArrayList<>(inputHashes.size());
+        for (Map.Entry<Integer, List<byte[]>> shard : byShard(inputHashes, SumKey::fromBytes).entrySet()) {
+            List<byte[]> hashes = shard.getValue();
+            String sql = SELECT_COLUMNS + " WHERE input_hash IN ("
+                    + String.join(",", Collections.nCopies(hashes.size(), "?")) + ")";
+            List<SumKey> keys = hashes.stream().map(SumKey::fromBytes).toList();
+            found.addAll(sumShards.read(shard.getKey(), keys, jdbc -> jdbc.query(sql, ROW_MAPPER, hashes.toArray())));
+        }
+        return found;
+    }
+
+    /** The row the given appended row extends, which lives on the same shard. */
+    public Optional<SumEntity> findParent(SumEntity child) {
+        return sumShards.read(SumKey.fromBytes(child.getInputHash()),
+                jdbc -> jdbc.query(SELECT_BY_ID_SQL, ROW_MAPPER, child.getParentId()).stream().findFirst());
+    }
+
+    /** Up to {@code limit} rows of one shard with an id above {@code afterId}, in id order. */
+    public List<SumEntity> findAfter(int shard, long afterId, int limit) {
+        return sumShards.get(shard).query(SELECT_AFTER_ID_SQL, ROW_MAPPER, afterId, limit);
+    }
+
+    /** Keys and results of up to {@code limit} rows of one shard with the most hits, most hits first. */
+    public List<StoredResult> findHottest(int shard, int limit) {
+        return sumShards.get(shard).query(SELECT_HOTTEST_SQL, (rs, rowNum) -> new StoredResult(
+                SumKey.fromBytes(rs.getBytes("input_hash")), rs.getLong("result"), rs.getLong("hit_count")), limit);
+    }
+
+    /** Notes a row about to be written outside this repository, so that lookups right after it see it. */
+    public void written(SumKey key) {
+        sumShards.written(key);
+    }
+
+    /** Inserts the row unless one with the same content hash is already stored. */
+    public void upsert(SumEntity entity) {
+        sumShards.written(SumKey.fromBytes(entity.getInputHash()));
+        sumShards.forHash(entity.getInputHash()).update(UPSERT_SQL, entity.getInputHash(), entity.getInputData(),
+                entity.getResult(), entity.getParentId(), entity.getLastAccessedAt(), entity.getHitCount());
+    }
+
+    /** Upserts all rows with one JDBC batch per shard involved. */
+    public void batchInsert(List<SumEntity> entities) {
+        for (Map.Entry<Integer, List<SumEntity>> shard : byShard(entities, entity -> SumKey.fromBytes(entity.getInputHash())).entrySet()) {
+            List<SumEntity> rows = shard.getValue();
+            rows.forEach(row -> sumShards.written(SumKey.fromBytes(row.getInputHash())));
+            sumShards.get(shard.getKey()).batchUpdate(UPSERT_SQL, rows, rows.size(), (statement, entity) -> {
+                statement.setBytes(1, entity.getInputHash());
+                statement.setBytes(2, entity.getInputData());
+                statement.setLong(3, entity.getResult());
+                statement.setObject(4, entity.getParentId(), Types.BIGINT);
+                statement.setObject(5, entity.getLastAccessedAt(), Types.BIGINT);
+                statement.setLong(6, entity.getHitCount());
+            });
+        }
+    }
+
+    /** Adds each key's hits to its row and stamps it as accessed, with one JDBC batch per shard. */
+    public void recordAccesses(Map<SumKey, Long> hits, long accessedAt) {
+        for (Map.Entry<Integer, List<Map.Entry<SumKey, Long>>> shard : byShard(hits.entrySet(), Map.Entry::getKey).entrySet()) {
+            List<Map.Entry<SumKey, Long>> entries = shard.getValue();
+            sumShards.get(shard.getKey()).batchUpdate(RECORD_ACCESS_SQL, entries, entries.size(), (statement, entry) -> {
+                statement.setLong(1, entry.getValue());
+                statement.setLong(2, accessedAt);
+                statement.setBytes(3, entry.getKey().toBytes());
+            });
+        }
+    }
+
+    /**
+     * Stamps up to {@code limit} rows of one shard that were never accessed as accessed at
+     * {@code accessedAt}. Returns the rows stamped.
+     */
+    public int stampUnaccessed(int shard, long accessedAt, int limit) {
+        return sumShards.get(shard).update(STAMP_UNACCESSED_SQL, accessedAt, limit);
+    }
+
+    /**
+     * Up to {@code limit} rows of one shard idle since {@code coldBefore} with fewer than
+     * {@code hotHits} hits, or idle since {@code hotBefore} regardless, that no appended row refers to.
+     */
+    public List<EvictionCandidate> findEvictable(int shard, long coldBefore, long hotHits, long hotBefore, int limit) {
+        return sumShards.get(shard).query(SELECT_EVICTABLE_SQL,
+                (rs, rowNum) -> new EvictionCandidate(rs.getLong("id"), rs.getLong("input_bytes")),
+                coldBefore, hotHits, hotBefore, limit);
+    }
+
+    /**
+     * Deletes the given rows of one shard by primary key, skipping any accessed at or after
+     * {@code idleBefore} or appended to since they were selected. Returns the rows deleted.
+     */
+    public int deleteIdle(int shard, List<Long> ids, long idleBefore) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        // The extra derived table lets MySQL read the table it is deleting from
+        String sql = "DELETE FROM sum_data WHERE id IN (" + placeholders + ")"
+                + " AND last_accessed_at < ?"
+                + " AND id NOT IN (SELECT parent_id FROM (SELECT parent_id FROM sum_data WHERE parent_id IN ("
+                + placeholders + ")) children)";
+        List<Object> args = new ArrayList<>(ids.size() * 2 + 1);
+        args.addAll(ids);
+        args.add(idleBefore);
+        args.addAll(ids);
+        return sumShards.get(shard).update(sql, args.toArray());
+    }
+
+    /**
+     * Deletes the given rows of one shard by primary key unless an appended row refers to them.
+     * Returns the rows deleted.
+     */
+    public int deleteUnreferenced(int shard, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        String sql = "DELETE FROM sum_data WHERE id IN (" + placeholders + ")"
+                + " AND id NOT IN (SELECT parent_id FROM (SELECT parent_id FROM sum_data WHERE parent_id IN ("
+                + placeholders + ")) children)";
+        List<Object> args = new ArrayList<>(ids.size() * 2);
+        args.addAll(ids);
+        args.addAll(ids);
+        return sumShards.get(shard).update(sql, args.toArray());
+    }
+
+    private <T> Map<Integer, List<T>> byShard(Collection<T> items, Function<T, SumKey> key) {
+        Map<Integer, List<T>> shards = new HashMap<>();
+        for (T item : items) {
+            shards.computeIfAbsent(sumShards.indexOf(key.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return shards;
+    }
+
+    public record EvictionCandidate(long id, long inputBytes) {
+    }
+
+    public record StoredResult(SumKey key, long result, long hitCount) {
+    }
+}
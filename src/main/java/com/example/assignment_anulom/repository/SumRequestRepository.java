@@ -1,10 +1,25 @@
 package com.example.assignment_anulom.repository;
 
 import com.example.assignment_anulom.entity.SumEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SumRequestRepository extends JpaRepository<SumEntity, Long> {
-    Optional<SumEntity> findByInputNumbers(String inputNumbers);
-}
\ No newline at end of file
+    Optional<SumEntity> findByInputHash(byte[] inputHash);
+
+    List<SumEntity> findByInputHashIsNull(Pageable pageable);
+
+    List<SumEntity> findByIdGreaterThanAndInputDataIsNullAndInputNumbersIsNotNullOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update SumEntity e set e.parentId = :to where e.parentId = :from")
+    int reparent(@Param("from") Long from, @Param("to") Long to);
+}
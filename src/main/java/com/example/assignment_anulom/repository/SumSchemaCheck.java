@@ -0,0 +1,138 @@
+package com.example.assignment_anulom.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Refuses to start on a {@code sum_data} table older than the entity. Hibernate's
+ * {@code ddl-auto=update} adds missing columns but never changes existing ones, so a table
+ * created when {@code result} was an {@code INT} keeps it, and sums beyond 2^31 fail on
+ * insert. Every shard is checked; the statements to bring a table up to date are part of
+ * the failure message, matching {@code db/sum-shard-schema.sql}. A missing index only
+ * slows things down, so it is merely reported.
+ */
+@Slf4j
+@Component
+// Only checked once JPA has created or updated the primary's table
+@DependsOn("entityManagerFactory")
+public class SumSchemaCheck {
+
+    private static final String TABLE = "sum_data";
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    // Indexes a table created before them does not get from CREATE TABLE IF NOT EXISTS
+    private static final Map<String, String> INDEXES = Map.of(
+            "hit_count", "CREATE INDEX idx_sum_data_hit_count ON sum_data (hit_count)");
+
+    static {
+        COLUMNS.put("result", new Column("BIGINT NOT NULL", 0, Types.BIGINT));
+        COLUMNS.put("input_hash", new Column("VARBINARY(16)", 16, Types.BINARY, Types.VARBINARY));
+        COLUMNS.put("input_data", new Column("LONGBLOB", 0, Types.BLOB, Types.LONGVARBINARY, Types.VARBINARY));
+        COLUMNS.put("input_numbers", new Column("LONGTEXT", 0,
+                Types.CLOB, Types.LONGVARCHAR, Types.VARCHAR, Types.NCLOB, Types.LONGNVARCHAR, Types.NVARCHAR));
+        COLUMNS.put("parent_id", new Column("BIGINT", 0, Types.BIGINT));
+        COLUMNS.put("last_accessed_at", new Column("BIGINT", 0, Types.BIGINT));
+        COLUMNS.put("hit_count", new Column("BIGINT NOT NULL DEFAULT 0", 0, Types.BIGINT));
+    }
+
+    @Autowired
+    private SumShards sumShards;
+
+    @PostConstruct
+    void check() {
+        verify(sumShards);
+    }
+
+    /** Throws if {@code sum_data} on any shard lacks a column or holds it in too narrow a type. */
+    public static void verify(SumShards shards) {
+        List<String> fixes = new ArrayList<>();
+        for (int i = 0; i < shards.count(); i++) {
+            Table table = shards.get(i).execute(SumSchemaCheck::table);
+            Map<String, ActualColumn> actual = table.columns();
+            if (actual.isEmpty()) {
+                fixes.add("shard " + i + ": " + TABLE + " does not exist");
+                continue;
+            }
+            for (Map.Entry<String, Column> expected : COLUMNS.entrySet()) {
+                String name = expected.getKey();
+                Column column = expected.getValue();
+                ActualColumn found = actual.get(name);
+                if (found == null) {
+                    fixes.add("shard " + i + ": ALTER TABLE " + TABLE + " ADD COLUMN " + name + " " + column.definition());
+                } else if (!column.accepts(found)) {
+                    fixes.add("shard " + i + ": ALTER TABLE " + TABLE + " MODIFY " + name + " " + column.definition()
+                            + " (is " + found.typeName() + ")");
+                }
+            }
+            for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+                if (!table.indexedColumns().contains(index.getKey())) {
+                    log.warn("{} on shard {} has no index on {}, so reading by it scans the table: {}",
+                            TABLE, i, index.getKey(), index.getValue());
+                }
+            }
+        }
+        if (!fixes.isEmpty()) {
+            throw new IllegalStateException(TABLE + " predates the current schema and hibernate.ddl-auto does not alter existing columns; "
+                    + "migrate it before starting: " + String.join("; ", fixes));
+        }
+    }
+
+    private static Table table(Connection connection) throws SQLException {
+        DatabaseMetaData metadata = connection.getMetaData();
+        Map<String, ActualColumn> columns = new HashMap<>();
+        Set<String> indexed = new HashSet<>();
+        // Identifiers are stored in upper case by some databases and lower case by others
+        for (String table : Set.of(TABLE, TABLE.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rows = metadata.getColumns(connection.getCatalog(), null, table, null)) {
+                while (rows.next()) {
+                    columns.put(rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT), new ActualColumn(
+                            rows.getInt("DATA_TYPE"), rows.getString("TYPE_NAME"), rows.getLong("COLUMN_SIZE")));
+                }
+            }
+            try (ResultSet rows = metadata.getIndexInfo(connection.getCatalog(), null, table, false, true)) {
+                while (rows.next()) {
+                    // Only the leading column of an index serves a sort on it
+                    if (rows.getShort("ORDINAL_POSITION") == 1 && rows.getString("COLUMN_NAME") != null) {
+                        indexed.add(rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return new Table(columns, indexed);
+    }
+
+    private record Table(Map<String, ActualColumn> columns, Set<String> indexedColumns) {
+    }
+
+    private record Column(String definition, long minSize, Set<Integer> types) {
+
+        Column(String definition, long minSize, Integer... types) {
+            this(definition, minSize, Set.of(types));
+        }
+
+        boolean accepts(ActualColumn column) {
+            return types.contains(column.type()) && column.size() >= minSize;
+        }
+    }
+
+    private record ActualColumn(int type, String typeName, long size) {
+    }
+}
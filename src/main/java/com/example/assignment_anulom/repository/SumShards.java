@@ -0,0 +1,218 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The datasources {@code sum_data} is partitioned across. A row lives on the shard its content
+ * key maps to by jump consistent hashing, so going from N to N+1 shards moves only about
+ * 1/(N+1) of the rows, all of them onto the new shard. Only the first {@link #active()} shards
+ * receive rows; any after them are being drained and are only read by maintenance. Row ids
+ * are local to their shard. Without configured shards there is a single shard, the primary
+ * datasource.
+ * <p>
+ * Each shard may have read replicas. Lookups go through {@link #read} and land on a healthy
+ * replica unless the key was written within the read-your-writes window, which should exceed
+ * the replication lag; everything else, writes included, goes to the shard itself.
+ */
+public class SumShards implements AutoCloseable {
+
+    private static final String SCHEMA = "db/sum-shard-schema.sql";
+
+    private final List<JdbcTemplate> shards;
+
+    private final List<ReplicaSet> replicas;
+
+    private final int active;
+
+    private final RecentWrites recentWrites;
+
+    // Datasources created for the shards and their replicas, closed with them; never the primary
+    private final List<DataSource> owned;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    private SumShards(List<JdbcTemplate> shards, List<ReplicaSet> replicas, int active,
+                      Duration readYourWrites, List<DataSource> owned) {
+        if (active < 1 || active > shards.size()) {
+            throw new IllegalArgumentException("Active shards must be between 1 and " + shards.size() + ", was " + active + ".");
+        }
+        this.shards = List.copyOf(shards);
+        this.replicas = List.copyOf(replicas);
+        this.active = active;
+        this.recentWrites = new RecentWrites(readYourWrites);
+        this.owned = List.copyOf(owned);
+    }
+
+    /** The primary datasource as the only shard. */
+    public static SumShards single(JdbcTemplate primary) {
+        return single(primary, List.of(), Duration.ZERO);
+    }
+
+    /** The primary datasource as the only shard, read through the given replicas, which are closed along with this. */
+    public static SumShards single(JdbcTemplate primary, List<? extends DataSource> replicas, Duration readYourWrites) {
+        return new SumShards(List.of(primary), List.of(replicaSet("primary", replicas)), 1,
+                readYourWrites, List.copyOf(replicas));
+    }
+
+    /**
+     * Shards over the given datasources, in order, of which the first {@code active} receive
+     * rows; the datasources are closed along with this.
+     */
+    public static SumShards of(List<? extends DataSource> dataSources, int active) {
+        return of(dataSources, dataSources.stream().map(dataSource -> List.<DataSource>of()).toList(), active, Duration.ZERO);
+    }
+
+    /** As {@link #of(List, int)}, with each shard read through the replicas at the same index. */
+    public static SumShards of(List<? extends DataSource> dataSources, List<? extends List<? extends DataSource>> replicas,
+                               int active, Duration readYourWrites) {
+        if (replicas.size() != dataSources.size()) {
+            throw new IllegalArgumentException("Replicas must be listed for each of the " + dataSources.size() + " shards.");
+        }
+        List<JdbcTemplate> templates = new ArrayList<>(dataSources.size());
+        List<ReplicaSet> replicaSets = new ArrayList<>(dataSources.size());
+        List<DataSource> owned = new ArrayList<>(dataSources);
+        for (int i = 0; i < dataSources.size(); i++) {
+            templates.add(new JdbcTemplate(dataSources.get(i)));
+            replicaSets.add(replicaSet("shard " + i, replicas.get(i)));
+            owned.addAll(replicas.get(i));
+        }
+        return new SumShards(templates, replicaSets, active, readYourWrites, owned);
+    }
+
+    /** Creates {@code sum_data} on every shard datasource where it does not exist yet. */
+    public void initializeSchema() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCHEMA));
+        for (JdbcTemplate shard : shards) {
+            // Only shards created here; the primary's table is managed by JPA, replicas get it by replication
+            if (owned.contains(shard.getDataSource())) {
+                populator.execute(shard.getDataSource());
+            }
+        }
+    }
+
+    /** All shards, including those being drained. */
+    public int count() {
+        return shards.size();
+    }
+
+    /** Shards rows are placed on. */
+    public int active() {
+        return active;
+    }
+
+    public int indexOf(SumKey key) {
+        return jump(key.lo(), active);
+    }
+
+    public int indexOf(byte[] inputHash) {
+        return indexOf(SumKey.fromBytes(inputHash));
+    }
+
+    /** The shard itself, for writes and maintenance. */
+    public JdbcTemplate get(int index) {
+        return shards.get(index);
+    }
+
+    public JdbcTemplate forHash(byte[] inputHash) {
+        return shards.get(indexOf(inputHash));
+    }
+
+    /** Runs a lookup of the key's rows, on a replica of its shard where possible. */
+    public <T> T read(SumKey key, Function<JdbcTemplate, T> query) {
+        return read(indexOf(key), recentWrites.contains(key), query);
+    }
+
+    /** Runs a lookup of keys that all live on the given shard, on one of its replicas unless any was written recently. */
+    public <T> T read(int shard, Collection<SumKey> keys, Function<JdbcTemplate, T> query) {
+        boolean recent = false;
+        for (SumKey key : keys) {
+            if (recentWrites.contains(key)) {
+                recent = true;
+                break;
+            }
+        }
+        return read(shard, recent, query);
+    }
+
+    /** Notes a write of the key, before it is issued, so that lookups right after it see it. */
+    public void written(SumKey key) {
+        recentWrites.record(key);
+    }
+
+    public boolean hasReplicas() {
+        return replicas.stream().anyMatch(set -> set.size() > 0);
+    }
+
+    public void checkReplicas(Duration timeout) {
+        for (ReplicaSet set : replicas) {
+            set.checkHealth(timeout);
+        }
+    }
+
+    public int healthyReplicas() {
+        return replicas.stream().mapToInt(ReplicaSet::healthy).sum();
+    }
+
+    public long replicaReads() {
+        return replicaReads.sum();
+    }
+
+    /** Lookups served by the shards themselves, for lack of a healthy replica or for read-your-writes. */
+    public long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : owned) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private <T> T read(int shard, boolean recent, Function<JdbcTemplate, T> query) {
+        ReplicaSet.Replica replica = recent ? null : replicas.get(shard).next();
+        if (replica != null) {
+            try {
+                T result = query.apply(replica.jdbcTemplate());
+                replicaReads.increment();
+                return result;
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                replica.markDown(e);
+            }
+        }
+        primaryReads.increment();
+        return query.apply(shards.get(shard));
+    }
+
+    private static ReplicaSet replicaSet(String name, List<? extends DataSource> dataSources) {
+        return new ReplicaSet(name, dataSources.stream().map(JdbcTemplate::new).toList());
+    }
+
+    /** Lamping and Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm". */
+    static int jump(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
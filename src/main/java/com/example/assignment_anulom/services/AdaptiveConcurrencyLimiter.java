@@ -0,0 +1,100 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent cache misses at a limit derived from their latency, in the manner of
+ * Netflix's Gradient2: each completed call compares its latency with a long-term average,
+ * shrinks the limit when latency rises beyond {@code rtt-tolerance} of it, and otherwise
+ * grows it by a small queue allowance. Calls beyond the limit fail at once with
+ * {@link SumOverloadedException} rather than waiting for the database, so a slow database
+ * bounds latency instead of piling up requests until they time out.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    // Added to the limit on every sample, so it keeps probing for spare capacity
+    private static final int QUEUE_SIZE = 4;
+
+    private final SumProperties.ConcurrencyLimit config;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+
+    // Guarded by this; average of call latency in nanos over about long-window samples
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(SumProperties sumProperties) {
+        this.config = sumProperties.getConcurrencyLimit();
+        this.limit = config.getInitialLimit();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        if (!config.isEnabled()) {
+            return work.get();
+        }
+        int admittedAt = acquire();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            // Failed calls count too: a database timing out is the slowdown to back off from
+            sample(System.nanoTime() - start, admittedAt);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    synchronized void sample(long rttNanos, int inFlightAtStart) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+        } else {
+            longRtt += (rttNanos - longRtt) / config.getLongWindow();
+        }
+        // After a slow period the average lags far behind; let it catch up with recovery
+        if (longRtt / rttNanos > 2) {
+            longRtt *= 0.95;
+        }
+        // A limit that is not being used says nothing about whether it could be larger
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRtt / rttNanos));
+        double target = limit * gradient + QUEUE_SIZE;
+        double smoothed = limit * (1 - config.getSmoothing()) + target * config.getSmoothing();
+        limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), smoothed));
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                throw new SumOverloadedException("Too many concurrent requests; limit is " + (int) limit + ".",
+                        config.getRetryAfter());
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+}
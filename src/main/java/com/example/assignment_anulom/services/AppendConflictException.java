@@ -0,0 +1,11 @@
+package com.example.assignment_anulom.services;
+
+/**
+ * Thrown when the key of an appended input is already taken by a different stored input.
+ */
+public class AppendConflictException extends RuntimeException {
+
+    public AppendConflictException(String message) {
+        super(message);
+    }
+}
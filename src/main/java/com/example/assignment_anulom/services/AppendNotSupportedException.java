@@ -0,0 +1,11 @@
+package com.example.assignment_anulom.services;
+
+/**
+ * Thrown when appending is not available with the configured storage.
+ */
+public class AppendNotSupportedException extends RuntimeException {
+
+    public AppendNotSupportedException(String message) {
+        super(message);
+    }
+}
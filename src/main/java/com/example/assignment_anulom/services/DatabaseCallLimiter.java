@@ -0,0 +1,64 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many request threads may talk to the database at once. With virtual threads
+ * the number of concurrent requests is no longer bounded by a worker pool, so this keeps
+ * thousands of callers queued in memory instead of piling onto the connection pool.
+ */
+@Component
+public class DatabaseCallLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public DatabaseCallLimiter(SumProperties sumProperties) {
+        SumProperties.DbLimiter config = sumProperties.getDbLimiter();
+        this.permits = new Semaphore(config.getPermits(), true);
+        this.acquireTimeoutNanos = config.getAcquireTimeout().toNanos();
+    }
+
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void run(Runnable work) {
+        acquire();
+        try {
+            work.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new DataAccessResourceFailureException("Timed out waiting for a database call permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted waiting for a database call permit", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.repository.SumRequestRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Rewrites rows still holding their input as comma-separated text into the compact
+ * {@code input_data} form and clears the text, in chunks from a background thread. Lookups
+ * read either form, so this only reclaims space and can run whenever convenient; it is off
+ * unless {@code sum.storage.migrate-legacy-rows} is set, and on unsharded storage only.
+ */
+@Slf4j
+@Component
+public class InputDataBackfill {
+
+    @Autowired
+    private SumRequestRepository sumRequestRepository;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    private ExecutorService backfiller;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!sumProperties.getStorage().isMigrateLegacyRows()) {
+            return;
+        }
+        if (!sumProperties.getSharding().getShards().isEmpty()) {
+            // The repository only reaches the primary datasource, which holds no rows once sharded
+            log.warn("Skipping the legacy row migration: it only covers unsharded storage, where it must run before sharding is enabled");
+            return;
+        }
+        backfiller = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("sum-input-data-backfill").daemon().factory());
+        backfiller.execute(this::backfillQuietly);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (backfiller != null) {
+            backfiller.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-encodes every text row and returns how many were re-encoded. Rows that fail are
+     * logged and left as they are.
+     */
+    public long backfill() throws InterruptedException {
+        SumProperties.Storage config = sumProperties.getStorage();
+        KeyCanonicalization canonicalization = sumProperties.getKey().getCanonicalization();
+        long migrated = 0;
+        long skipped = 0;
+        long afterId = 0;
+        List<SumEntity> chunk;
+        // By id, so that rows left behind by a failure are not fetched again
+        while (!(chunk = fetch(afterId, config.getBackfillChunkSize())).isEmpty()) {
+            for (SumEntity entity : chunk) {
+                afterId = entity.getId();
+                try {
+                    migrate(entity, canonicalization);
+                    migrated++;
+                } catch (RuntimeException e) {
+                    log.warn("Could not re-encode the input of sum_data row {}", entity.getId(), e);
+                    skipped++;
+                }
+            }
+            if (chunk.size() < config.getBackfillChunkSize()) {
+                break;
+            }
+            Thread.sleep(config.getBackfillChunkPause().toMillis());
+        }
+        if (migrated + skipped > 0) {
+            log.info("Re-encoded input of {} sum_data rows, skipped {}", migrated, skipped);
+        }
+        return migrated;
+    }
+
+    private List<SumEntity> fetch(long afterId, int limit) {
+        return databaseCallLimiter.call(() -> sumRequestRepository
+                .findByIdGreaterThanAndInputDataIsNullAndInputNumbersIsNotNullOrderByIdAsc(afterId, PageRequest.of(0, limit)));
+    }
+
+    private void migrate(SumEntity entity, KeyCanonicalization canonicalization) {
+        // The text keeps arrival order, while rows hold their input in canonical order
+        IntArrayList values = IntArrayList.parse(entity.getInputNumbers());
+        entity.setInputData(InputCodec.encode(canonicalization.canonicalOrder(values.array(), values.size()), values.size()));
+        entity.setInputNumbers(null);
+        databaseCallLimiter.call(() -> sumRequestRepository.save(entity));
+    }
+
+    private void backfillQuietly() {
+        try {
+            backfill();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Rows still stored as text are picked up on the next start
+            log.error("Legacy row migration failed", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputScanner;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.repository.SumRequestRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills in {@code input_hash} for rows written before lookups moved to the hash index, in
+ * chunks from a background thread once {@code sum.storage.backfill-input-hash} is set. Such
+ * rows are invisible to lookups, so their inputs may have been stored again in the meantime,
+ * possibly by another instance while this runs; a legacy row whose hash is already taken is
+ * merged into the row holding it, moving its appended children over, and deleted.
+ * <p>
+ * Only unsharded storage is covered: a row hashed in place on a shard may belong on another
+ * one, next to a copy stored there since. With shards configured this does nothing but warn.
+ */
+@Slf4j
+@Component
+public class InputHashBackfill {
+
+    @Autowired
+    private SumRequestRepository sumRequestRepository;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private HashKey hashKey;
+
+    private ExecutorService backfiller;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!sumProperties.getStorage().isBackfillInputHash()) {
+            return;
+        }
+        if (!sumProperties.getSharding().getShards().isEmpty()) {
+            log.warn("Skipping the input hash backfill: it only covers unsharded storage, where it must run before sharding is enabled");
+            return;
+        }
+        backfiller = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("sum-input-hash-backfill").daemon().factory());
+        backfiller.execute(this::backfillQuietly);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (backfiller != null) {
+            backfiller.shutdownNow();
+        }
+    }
+
+    /**
+     * Hashes every row without a hash and returns how many rows were hashed or merged.
+     */
+    public long backfill() throws InterruptedException {
+        SumProperties.Storage config = sumProperties.getStorage();
+        long hashed = 0;
+        long merged = 0;
+        List<SumEntity> chunk;
+        // Every row in a chunk either gets its hash or is deleted, so the next chunk is all new rows
+        while (!(chunk = sumRequestRepository.findByInputHashIsNull(PageRequest.of(0, config.getBackfillChunkSize()))).isEmpty()) {
+            for (SumEntity entity : chunk) {
+                if (backfill(entity)) {
+                    hashed++;
+                } else {
+                    merged++;
+                }
+            }
+            if (chunk.size() < config.getBackfillChunkSize()) {
+                break;
+            }
+            Thread.sleep(config.getBackfillChunkPause().toMillis());
+        }
+        if (hashed + merged > 0) {
+            log.info("Backfilled input hash for {} sum_data rows, merged {} duplicates", hashed, merged);
+        }
+        return hashed + merged;
+    }
+
+    /** Returns whether the row kept its place, as opposed to being merged into an existing one. */
+    private boolean backfill(SumEntity entity) {
+        // The text may already have been re-encoded by InputDataBackfill
+        IntArrayList values = InputCodec.read(entity.getInputData(), entity.getInputNumbers());
+        // Keyed as lookups are, so the row is found under the configured canonicalization
+        byte[] inputHash = InputScanner.key(values.array(), values.size(), sumProperties.getKey().getCanonicalization(),
+                hashKey, sumProperties.getParallel().getThreshold()).toBytes();
+        Optional<SumEntity> existing = sumRequestRepository.findByInputHash(inputHash);
+        if (existing.isEmpty()) {
+            entity.setInputHash(inputHash);
+            try {
+                sumRequestRepository.saveAndFlush(entity);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Stored again since the lookup
+                existing = sumRequestRepository.findByInputHash(inputHash);
+                if (existing.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+        // Same input, same result; children first, so that a failure in between leaves no orphans
+        sumRequestRepository.reparent(entity.getId(), existing.get().getId());
+        sumRequestRepository.deleteById(entity.getId());
+        return false;
+    }
+
+    private void backfillQuietly() {
+        try {
+            backfill();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Rows still without a hash are picked up on the next start
+            log.error("Input hash backfill failed", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.assignment_anulom.services;
+
+/**
+ * Thrown when an append cannot be applied to its base input, such as a base stored before
+ * content hashing or a result that no longer fits a long.
+ */
+public class InvalidAppendException extends RuntimeException {
+
+    public InvalidAppendException(String message) {
+        super(message);
+    }
+
+    public InvalidAppendException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputScanner;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.codec.PrefixSums;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.PrefixSumEntity;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.PrefixIndexResponse;
+import com.example.assignment_anulom.model.SumKey;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import com.example.assignment_anulom.repository.PrefixSumRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registers a list once as a prefix-sum index so later range sums over it are
+ * answered in constant time instead of being stored and recomputed per slice.
+ */
+@Service
+public class PrefixSumServices {
+
+    @Autowired
+    private PrefixSumRepository prefixSumRepository;
+
+    @Autowired
+    private BoundedLruCache<Long, long[]> prefixSumCache;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @Autowired
+    private HashKey hashKey;
+
+    public PrefixIndexResponse register(SumRequest request) {
+        List<Integer> numbers = request.getNumbers();
+
+        if (numbers == null || numbers.isEmpty()) {
+            throw new IllegalArgumentException("Input number list cannot be empty.");
+        }
+
+        IntArrayList input = IntArrayList.from(numbers);
+        long[] prefix = PrefixSums.build(input.array(), input.size());
+        byte[] encoded = PrefixSums.encode(prefix);
+        // Prefix indexes are positional, so registration is always keyed by the ordered hash
+        byte[] hash = InputScanner.key(input.array(), input.size(), KeyCanonicalization.ORDERED, hashKey,
+                sumProperties.getParallel().getThreshold()).toBytes();
+
+        Optional<PrefixSumEntity> existing = databaseCallLimiter.call(() -> prefixSumRepository.findByInputHash(hash));
+        if (existing.isPresent() && Arrays.equals(existing.get().getPrefixSums(), encoded)) {
+            return remember(existing.get().getId(), prefix);
+        }
+
+        PrefixSumEntity entity = new PrefixSumEntity();
+        // A colliding list with different contents is stored unkeyed rather than rejected
+        entity.setInputHash(existing.isPresent() ? null : hash);
+        entity.setLength(input.size());
+        entity.setPrefixSums(encoded);
+        try {
+            PrefixSumEntity saved = databaseCallLimiter.call(() -> prefixSumRepository.save(entity));
+            return remember(saved.getId(), prefix);
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently by another request
+            PrefixSumEntity stored = databaseCallLimiter.call(() -> prefixSumRepository.findByInputHash(hash))
+                    .orElseThrow(() -> e);
+            return remember(stored.getId(), prefix);
+        }
+    }
+
+    /**
+     * Sum of the numbers at positions {@code from} to {@code to}, both inclusive and
+     * zero-based, of a registered list; empty if no list has that id.
+     */
+    public Optional<SumResponse> rangeSum(long id, int from, int to) {
+        long[] prefix = prefixSumCache.get(id);
+        if (prefix == null) {
+            Optional<PrefixSumEntity> stored = databaseCallLimiter.call(() -> prefixSumRepository.findById(id));
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            prefix = PrefixSums.decode(stored.get().getPrefixSums());
+            prefixSumCache.put(id, prefix);
+        }
+        return Optional.of(new SumResponse(PrefixSums.rangeSum(prefix, from, to)));
+    }
+
+    private PrefixIndexResponse remember(long id, long[] prefix) {
+        prefixSumCache.put(id, prefix);
+        return new PrefixIndexResponse(id, prefix.length - 1);
+    }
+}
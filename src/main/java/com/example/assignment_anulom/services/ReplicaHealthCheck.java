@@ -0,0 +1,57 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.repository.SumShards;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes every read replica on a fixed schedule, taking unreachable ones out of the lookup
+ * rotation and returning recovered ones to it. Does nothing when no replicas are configured.
+ */
+@Slf4j
+@Component
+public class ReplicaHealthCheck {
+
+    @Autowired
+    private SumShards sumShards;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    private ScheduledExecutorService checker;
+
+    @PostConstruct
+    void start() {
+        if (!sumShards.hasReplicas()) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sum-replica-health").daemon().factory());
+        long interval = sumProperties.getReplication().getHealthCheckInterval().toMillis();
+        checker.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    public void check() {
+        try {
+            sumShards.checkReplicas(sumProperties.getReplication().getHealthCheckTimeout());
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; replicas keep their last known state
+            log.error("Replica health check failed", e);
+        }
+    }
+}
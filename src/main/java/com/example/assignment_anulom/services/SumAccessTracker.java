@@ -0,0 +1,130 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumKey;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts hits per stored input in memory, including those answered from the cache, and
+ * writes them to {@code sum_data.hit_count} and {@code last_accessed_at} in periodic
+ * batches, so the retention policy sees real usage without an update per request.
+ * Counts are approximate: a hit racing a flush may be lost, and keys beyond
+ * {@code max-tracked-keys} are not tracked until the next flush.
+ */
+@Slf4j
+@Component
+public class SumAccessTracker {
+
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    private Map<SumKey, LongAdder> pending;
+    private ScheduledExecutorService flusher;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder untracked = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        SumProperties.Retention config = sumProperties.getRetention();
+        if (!config.isEnabled()) {
+            return;
+        }
+        pending = new ConcurrentHashMap<>();
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sum-access-tracker").daemon().factory());
+        long interval = config.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public void record(SumKey key) {
+        if (pending == null) {
+            return;
+        }
+        LongAdder hits = pending.get(key);
+        if (hits == null) {
+            if (pending.size() >= sumProperties.getRetention().getMaxTrackedKeys()) {
+                untracked.increment();
+                return;
+            }
+            hits = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        hits.increment();
+    }
+
+    /**
+     * Writes the counted hits in batches of at most {@code chunk-size} rows.
+     */
+    public void flush() {
+        if (pending == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            int chunkSize = sumProperties.getRetention().getChunkSize();
+            long now = System.currentTimeMillis();
+            Map<SumKey, Long> batch = new HashMap<>();
+            Iterator<Map.Entry<SumKey, LongAdder>> entries = pending.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<SumKey, LongAdder> entry = entries.next();
+                entries.remove();
+                batch.put(entry.getKey(), entry.getValue().sum());
+                if (batch.size() >= chunkSize || !entries.hasNext()) {
+                    write(batch, now);
+                    batch = new HashMap<>();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int tracked() {
+        return pending == null ? 0 : pending.size();
+    }
+
+    public long untracked() {
+        return untracked.sum();
+    }
+
+    private void write(Map<SumKey, Long> batch, long now) {
+        try {
+            databaseCallLimiter.run(() -> sumJdbcRepository.recordAccesses(batch, now));
+        } catch (RuntimeException e) {
+            // Losing some counts only makes rows look colder than they are
+            log.warn("Failed to record hits for {} sum rows", batch.size(), e);
+        }
+    }
+}
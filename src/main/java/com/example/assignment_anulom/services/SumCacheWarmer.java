@@ -0,0 +1,117 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.SumSnapshots;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumJdbcRepository.StoredResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the result cache before the instance reports ready: optionally from the stored
+ * rows with the most hits, then from the last snapshot of the hottest cached entries. Runs as
+ * an {@link ApplicationRunner}, so the readiness probe stays down until it finishes.
+ * Snapshots are then rewritten periodically and once more on shutdown.
+ */
+@Slf4j
+@Component
+public class SumCacheWarmer implements ApplicationRunner {
+
+    @Autowired
+    private TieredSumCache sumResultCache;
+
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private HashKey hashKey;
+
+    private ScheduledExecutorService snapshotter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SumProperties.Snapshot config = sumProperties.getSnapshot();
+        if (config.getPreloadRows() > 0) {
+            preloadRows(config.getPreloadRows());
+        }
+        if (config.getFile() == null) {
+            return;
+        }
+        loadSnapshot(config.getFile());
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sum-cache-snapshot").daemon().factory());
+        long interval = config.getInterval().toMillis();
+        snapshotter.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (snapshotter == null) {
+            return;
+        }
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+        snapshot();
+    }
+
+    /** Writes the hottest near-cache entries to the snapshot file; a failure keeps the previous file. */
+    public void snapshot() {
+        Path file = sumProperties.getSnapshot().getFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            SumSnapshots.write(file, hashKey.fingerprint(), sumResultCache.hottest(sumProperties.getSnapshot().getMaxEntries()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write cache snapshot {}", file, e);
+        }
+    }
+
+    private void preloadRows(int rows) {
+        // Hit counts compare across shards, so the hottest of every shard compete for the budget
+        List<StoredResult> hottest = new ArrayList<>();
+        for (int shard = 0; shard < sumJdbcRepository.shardCount(); shard++) {
+            hottest.addAll(sumJdbcRepository.findHottest(shard, rows));
+        }
+        hottest.sort(Comparator.comparingLong(StoredResult::hitCount).reversed());
+        List<StoredResult> loaded = hottest.subList(0, Math.min(rows, hottest.size()));
+        // Hottest last, so they are the most recently used entries
+        for (int i = loaded.size() - 1; i >= 0; i--) {
+            sumResultCache.preload(loaded.get(i).key(), loaded.get(i).result());
+        }
+        log.info("Preloaded {} stored sums into the result cache", loaded.size());
+    }
+
+    private void loadSnapshot(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            int loaded = SumSnapshots.read(file, hashKey.fingerprint(), sumResultCache::preload);
+            log.info("Loaded {} cached sums from snapshot {}", loaded, file);
+        } catch (IOException | RuntimeException e) {
+            // A damaged snapshot, or one from before the secret changed, only costs a cold start
+            log.warn("Ignoring unreadable cache snapshot {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.assignment_anulom.services;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of queueing a request when the concurrency limit is reached.
+ */
+@Getter
+public class SumOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public SumOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
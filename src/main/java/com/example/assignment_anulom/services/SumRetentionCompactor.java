@@ -0,0 +1,167 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumJdbcRepository.EvictionCandidate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Periodically deletes idle rows from {@code sum_data}. Rows with fewer than {@code hot-hits}
+ * hits expire after {@code ttl} without access, the rest after {@code hot-ttl}. Deletes go by
+ * primary key in chunks of {@code chunk-size} with a pause in between, so no statement holds
+ * locks on more than a chunk of rows. Results of deleted rows are still correct wherever
+ * they are cached; a later miss simply recomputes and stores them again. Shards are
+ * compacted one after the other.
+ * <p>
+ * Rows without an access time, written before retention was enabled or by an instance
+ * without it, are first stamped with the time of the run, so they count as accessed when
+ * retention saw them first rather than as idle forever.
+ */
+@Slf4j
+@Component
+public class SumRetentionCompactor {
+
+    // Rough per-row cost besides the input itself: fixed columns and the secondary index entries
+    static final long ROW_OVERHEAD_BYTES = 96;
+
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumAccessTracker sumAccessTracker;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    private ScheduledExecutorService compactor;
+
+    private final ReentrantLock compactLock = new ReentrantLock();
+
+    private final LongAdder deletedRows = new LongAdder();
+    private final LongAdder reclaimedBytes = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        SumProperties.Retention config = sumProperties.getRetention();
+        if (!config.isEnabled()) {
+            return;
+        }
+        compactor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sum-retention").daemon().factory());
+        long interval = config.getInterval().toMillis();
+        compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes every row the policy currently expires and returns how many were deleted.
+     */
+    public int compact() throws InterruptedException {
+        SumProperties.Retention config = sumProperties.getRetention();
+        compactLock.lock();
+        try {
+            // Rows hot only in the cache must not look idle
+            sumAccessTracker.flush();
+
+            long now = System.currentTimeMillis();
+            long coldBefore = now - config.getTtl().toMillis();
+            long hotBefore = now - config.getHotTtl().toMillis();
+            int deleted = 0;
+            for (int shard = 0; shard < sumJdbcRepository.shardCount(); shard++) {
+                stampUnaccessed(shard, config, now);
+                deleted += compact(shard, config, coldBefore, hotBefore);
+            }
+            if (deleted > 0) {
+                log.info("Retention removed {} idle sum_data rows", deleted);
+            }
+            return deleted;
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    public long deletedRows() {
+        return deletedRows.sum();
+    }
+
+    /** Estimated bytes of row data and index entries freed by deletes so far. */
+    public long reclaimedBytes() {
+        return reclaimedBytes.sum();
+    }
+
+    private void stampUnaccessed(int shard, SumProperties.Retention config, long now) throws InterruptedException {
+        int stamped;
+        do {
+            stamped = databaseCallLimiter.call(() -> sumJdbcRepository.stampUnaccessed(shard, now, config.getChunkSize()));
+            if (stamped == config.getChunkSize()) {
+                Thread.sleep(config.getChunkPause().toMillis());
+            }
+        } while (stamped == config.getChunkSize());
+    }
+
+    private int compact(int shard, SumProperties.Retention config, long coldBefore, long hotBefore)
+            throws InterruptedException {
+        int deleted = 0;
+        while (true) {
+            List<EvictionCandidate> candidates = databaseCallLimiter.call(() -> sumJdbcRepository.findEvictable(
+                    shard, coldBefore, config.getHotHits(), hotBefore, config.getChunkSize()));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            List<Long> ids = candidates.stream().map(EvictionCandidate::id).toList();
+            int chunkDeleted = databaseCallLimiter.call(() -> sumJdbcRepository.deleteIdle(shard, ids, coldBefore));
+            record(candidates, chunkDeleted);
+            deleted += chunkDeleted;
+            // Candidates that were all kept back would be selected again forever
+            if (chunkDeleted == 0 || candidates.size() < config.getChunkSize()) {
+                break;
+            }
+            Thread.sleep(config.getChunkPause().toMillis());
+        }
+        return deleted;
+    }
+
+    private void record(List<EvictionCandidate> candidates, int deleted) {
+        long bytes = 0;
+        for (EvictionCandidate candidate : candidates) {
+            bytes += candidate.inputBytes() + ROW_OVERHEAD_BYTES;
+        }
+        // Rows touched between select and delete were kept; assume they were of average size
+        if (deleted < candidates.size()) {
+            bytes = bytes * deleted / candidates.size();
+        }
+        deletedRows.add(deleted);
+        reclaimedBytes.add(bytes);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next run picks up where this one failed
+            log.error("Sum retention run failed", e);
+        }
+    }
+}
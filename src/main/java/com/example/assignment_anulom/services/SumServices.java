@@ -1,15 +1,42 @@
 package com.example.assignment_anulom.services;
 
+import com.example.assignment_anulom.cache.CacheStats;
+import com.example.assignment_anulom.cache.SingleFlight;
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.codec.InputScanner;
+import com.example.assignment_anulom.codec.StreamingSumReader;
+import com.example.assignment_anulom.config.SumProperties;
 import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.metrics.SumMetrics;
+import com.example.assignment_anulom.metrics.SumMetrics.Stage;
+import com.example.assignment_anulom.model.AppendRequest;
+import com.example.assignment_anulom.model.AppendResponse;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.SumKey;
 import com.example.assignment_anulom.model.SumRequest;
 import com.example.assignment_anulom.model.SumResponse;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
 import com.example.assignment_anulom.repository.SumRequestRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class SumServices {
@@ -17,32 +44,357 @@ public class SumServices {
     @Autowired
     private SumRequestRepository sumRequestRepository;
 
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumCache sumResultCache;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private HashKey hashKey;
+
+    @Autowired
+    private SumWriteBehind sumWriteBehind;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @Autowired
+    private SumMetrics sumMetrics;
+
+    @Autowired
+    private SumAccessTracker sumAccessTracker;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final SingleFlight<SumKey, Resolved> inFlight = new SingleFlight<>();
+
     public SumResponse computeSum(SumRequest request) {
-        List<Integer> numbers = request.getNumbers();
+        PreparedInput prepared = sumMetrics.stage(Stage.KEY).record(() -> prepare(request));
+        SumKey key = prepared.key();
 
-        if (numbers == null || numbers.isEmpty()) {
+        // Hot inputs are answered from memory without touching the datasource
+        Long cached = sumMetrics.stage(Stage.CACHE).record(() -> sumResultCache.get(key));
+        if (cached != null) {
+            sumAccessTracker.record(key);
+            return new SumResponse(cached);
+        }
+
+        // Concurrent misses for the same input share one lookup and one insert. Only misses
+        // count against the concurrency limit, so hits are served even while it sheds load.
+        Resolved resolved = adaptiveConcurrencyLimiter.call(() -> inFlight.execute(key, () -> resolve(prepared)));
+        if (resolved.input() != prepared && !resolved.input().sameInput(prepared)) {
+            // Coalesced onto a colliding input's flight; its result is not ours
+            return new SumResponse(prepared.sum());
+        }
+        return new SumResponse(resolved.result());
+    }
+
+    /**
+     * Sums many independent lists. Cache misses are resolved with one {@code IN} query
+     * and all newly computed rows are written with one JDBC batch insert.
+     */
+    public List<SumResponse> computeSums(List<SumRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be empty.");
+        }
+        if (requests.size() > sumProperties.getBatch().getMaxRequests()) {
+            throw new IllegalArgumentException("Batch cannot contain more than "
+                    + sumProperties.getBatch().getMaxRequests() + " requests.");
+        }
+
+        List<PreparedInput> prepared = new ArrayList<>(requests.size());
+        Map<SumKey, PreparedInput> misses = new LinkedHashMap<>();
+        for (SumRequest request : requests) {
+            PreparedInput input = prepare(request);
+            prepared.add(input);
+            if (misses.containsKey(input.key())) {
+                continue;
+            }
+            if (sumResultCache.get(input.key()) == null) {
+                misses.put(input.key(), input);
+            } else {
+                sumAccessTracker.record(input.key());
+            }
+        }
+
+        Map<SumKey, Long> resolved = new HashMap<>();
+        if (!misses.isEmpty()) {
+            List<byte[]> hashes = misses.keySet().stream().map(SumKey::toBytes).toList();
+            List<SumEntity> stored = databaseCallLimiter.call(() -> sumJdbcRepository.findAllByInputHash(hashes));
+            for (SumEntity entity : stored) {
+                SumKey key = SumKey.fromBytes(entity.getInputHash());
+                PreparedInput input = misses.remove(key);
+                if (input != null && matchesStored(input, entity)) {
+                    resolved.put(key, entity.getResult());
+                    sumResultCache.put(key, entity.getResult());
+                    sumAccessTracker.record(key);
+                }
+            }
+
+            List<SumEntity> inserts = new ArrayList<>(misses.size());
+            for (PreparedInput input : misses.values()) {
+                long sum = input.sum();
+                inserts.add(input.toEntity(sum));
+                resolved.put(input.key(), sum);
+                sumResultCache.put(input.key(), sum);
+            }
+            if (sumWriteBehind.isEnabled()) {
+                inserts.forEach(sumWriteBehind::submit);
+            } else {
+                databaseCallLimiter.run(() -> sumJdbcRepository.batchInsert(inserts));
+            }
+        }
+
+        List<SumResponse> responses = new ArrayList<>(prepared.size());
+        for (PreparedInput input : prepared) {
+            Long result = resolved.get(input.key());
+            if (result == null) {
+                result = sumResultCache.get(input.key());
+            }
+            // A hash collision or an evicted entry falls back to the freshly computed sum
+            responses.add(new SumResponse(result != null ? result : input.sum()));
+        }
+        return responses;
+    }
+
+    /**
+     * Sums a request body of unbounded length without materializing it. Streamed inputs
+     * are cached by key but not persisted, since the full list is never held in memory.
+     */
+    public SumResponse computeStreamingSum(InputStream body) throws IOException {
+        StreamingSumReader reader = new StreamingSumReader(sumProperties.getKey().getCanonicalization().newHasher(hashKey));
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            reader.read(parser);
+        }
+
+        if (reader.count() == 0) {
             throw new IllegalArgumentException("Input number list cannot be empty.");
         }
+        sumMetrics.recordInputSize(reader.count());
 
-        String inputAsString = numbers.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        SumKey key = reader.key();
+        Long cached = sumResultCache.get(key);
+        if (cached != null) {
+            return new SumResponse(cached);
+        }
+        sumResultCache.put(key, reader.sum());
+        return new SumResponse(reader.sum());
+    }
+
+    /**
+     * Extends a stored input by a few numbers. The result is the stored result plus the
+     * sum of the delta, the key is combined from the stored key and the delta's key, and
+     * the new row holds only the delta and a reference to its parent, so the cost scales
+     * with the appended size. A row already stored under the combined key is only reused once
+     * its input is confirmed to be the appended one. Empty if the referenced input does not
+     * exist; a base stored before content hashing has no key to combine and is rejected until
+     * backfilled. Unavailable with sharded storage, where a row and the row it extends would
+     * usually sit on different shards.
+     */
+    public Optional<AppendResponse> append(AppendRequest request) {
+        if (!sumProperties.getSharding().getShards().isEmpty()) {
+            throw new AppendNotSupportedException("Appending is not available with sharded storage.");
+        }
+        if ((request.getBaseId() == null) == (request.getBaseHash() == null)) {
+            throw new IllegalArgumentException("Reference the base input by exactly one of baseId or baseHash.");
+        }
+        PreparedInput delta = prepare(request.getNumbers());
+
+        Optional<SumEntity> base;
+        if (request.getBaseId() != null) {
+            base = databaseCallLimiter.call(() -> sumRequestRepository.findById(request.getBaseId()));
+        } else {
+            byte[] baseHash = hashKey.open(request.getBaseHash()).toBytes();
+            base = databaseCallLimiter.call(() -> sumJdbcRepository.findByInputHash(baseHash));
+        }
+        if (base.isEmpty()) {
+            return Optional.empty();
+        }
+        SumEntity parent = base.get();
+        if (parent.getInputHash() == null) {
+            throw new InvalidAppendException("Base input " + parent.getId()
+                    + " was stored before content hashing and cannot be appended to until its hash is backfilled.");
+        }
+
+        SumKey key = delta.canonicalization()
+                .combine(hashKey, SumKey.fromBytes(parent.getInputHash()), delta.key(), delta.input().size());
+        long result;
+        try {
+            result = Math.addExact(parent.getResult(), delta.sum());
+        } catch (ArithmeticException e) {
+            throw new InvalidAppendException("Appended sum overflows a 64-bit result.", e);
+        }
+
+        Optional<SumEntity> existing = databaseCallLimiter.call(() -> sumJdbcRepository.findByInputHash(key.toBytes()));
+        if (existing.isPresent()) {
+            if (!isAppended(existing.get(), parent, delta)) {
+                throw new AppendConflictException("Appended input collides with a different stored input.");
+            }
+            sumResultCache.put(key, existing.get().getResult());
+            sumAccessTracker.record(key);
+            return Optional.of(new AppendResponse(existing.get().getId(), hashKey.seal(key), existing.get().getResult()));
+        }
+
+        SumEntity entity = new SumEntity();
+        entity.setInputHash(key.toBytes());
+        entity.setInputData(delta.encoded());
+        entity.setResult(result);
+        entity.setParentId(parent.getId());
+        entity.setLastAccessedAt(System.currentTimeMillis());
+        // Written synchronously, bypassing write-behind, because the caller needs the row id
+        sumJdbcRepository.written(key);
+        SumEntity saved;
+        try {
+            saved = databaseCallLimiter.call(() -> sumRequestRepository.save(entity));
+        } catch (DataIntegrityViolationException e) {
+            // Appended concurrently by another request
+            saved = databaseCallLimiter.call(() -> sumJdbcRepository.findByInputHash(key.toBytes()))
+                    .orElseThrow(() -> e);
+        }
+        sumResultCache.put(key, saved.getResult());
+        return Optional.of(new AppendResponse(saved.getId(), hashKey.seal(key), saved.getResult()));
+    }
+
+    public CacheStats cacheStats() {
+        return sumResultCache.stats();
+    }
+
+    public long coalescedRequests() {
+        return inFlight.coalesced();
+    }
+
+    private Resolved resolve(PreparedInput prepared) {
+        SumKey key = prepared.key();
 
         // Check if result already exists
-        Optional<SumEntity> existing = sumRequestRepository.findByInputNumbers(inputAsString);
+        Optional<SumEntity> existing = sumMetrics.stage(Stage.LOOKUP)
+                .record(() -> databaseCallLimiter.call(() -> sumJdbcRepository.findByInputHash(key.toBytes())));
         if (existing.isPresent()) {
-            return new SumResponse(existing.get().getResult());
+            if (matchesStored(prepared, existing.get())) {
+                sumResultCache.put(key, existing.get().getResult());
+                sumAccessTracker.record(key);
+                return new Resolved(prepared, existing.get().getResult());
+            }
+            // Hash collision with a different stored input: answer without caching or persisting
+            return new Resolved(prepared, prepared.sum());
         }
 
-        // Compute and save
-        int sum = numbers.stream().mapToInt(Integer::intValue).sum();
+        // Publish to the cache first so repeats are served while a write-behind insert is pending
+        long sum = prepared.sum();
+        sumResultCache.put(key, sum);
+        SumEntity entity = prepared.toEntity(sum);
+        sumMetrics.stage(Stage.PERSIST).record(() -> persist(entity));
+        return new Resolved(prepared, sum);
+    }
 
-        SumEntity entity = new SumEntity();
-        entity.setInputNumbers(inputAsString);
-        entity.setResult(sum);
+    private boolean matchesStored(PreparedInput input, SumEntity stored) {
+        // Appended rows hold only their delta; the full input is rebuilt from the parent chain
+        IntArrayList full = stored.getParentId() == null
+                ? InputCodec.read(stored.getInputData(), stored.getInputNumbers())
+                : storedInput(stored);
+        return input.canonicalization().sameInput(input.input().array(), input.input().size(), full.array(), full.size());
+    }
+
+    private boolean isAppended(SumEntity stored, SumEntity parent, PreparedInput delta) {
+        // The same delta on the same parent, as when an append is repeated, needs no chain read
+        if (parent.getId().equals(stored.getParentId())) {
+            IntArrayList storedDelta = InputCodec.read(stored.getInputData(), stored.getInputNumbers());
+            if (delta.canonicalization().sameInput(delta.input().array(), delta.input().size(),
+                    storedDelta.array(), storedDelta.size())) {
+                return true;
+            }
+        }
+        IntArrayList base = storedInput(parent);
+        int[] appended = Arrays.copyOf(base.array(), base.size() + delta.input().size());
+        System.arraycopy(delta.input().array(), 0, appended, base.size(), delta.input().size());
+        IntArrayList full = storedInput(stored);
+        return delta.canonicalization().sameInput(appended, appended.length, full.array(), full.size());
+    }
+
+    private IntArrayList storedInput(SumEntity entity) {
+        Deque<IntArrayList> chunks = new ArrayDeque<>();
+        int size = 0;
+        SumEntity current = entity;
+        while (true) {
+            IntArrayList chunk = InputCodec.read(current.getInputData(), current.getInputNumbers());
+            chunks.push(chunk);
+            size += chunk.size();
+            if (current.getParentId() == null) {
+                break;
+            }
+            SumEntity child = current;
+            current = databaseCallLimiter.call(() -> sumJdbcRepository.findParent(child))
+                    .orElseThrow(() -> new IllegalStateException("Missing parent row " + child.getParentId()));
+        }
+        int[] values = new int[size];
+        int offset = 0;
+        for (IntArrayList chunk : chunks) {
+            System.arraycopy(chunk.array(), 0, values, offset, chunk.size());
+            offset += chunk.size();
+        }
+        return new IntArrayList(values, size);
+    }
+
+    private void persist(SumEntity entity) {
+        if (sumWriteBehind.isEnabled()) {
+            sumWriteBehind.submit(entity);
+            return;
+        }
+        // A row stored first by another instance, or by a request that missed this flight, is kept
+        databaseCallLimiter.run(() -> sumJdbcRepository.upsert(entity));
+    }
+
+    private PreparedInput prepare(SumRequest request) {
+        return prepare(request.getNumbers());
+    }
+
+    private PreparedInput prepare(List<Integer> numbers) {
+        if (numbers == null || numbers.isEmpty()) {
+            throw new IllegalArgumentException("Input number list cannot be empty.");
+        }
+
+        IntArrayList input = IntArrayList.from(numbers);
+        sumMetrics.recordInputSize(input.size());
 
-        sumRequestRepository.save(entity);
+        // Only the key is needed up front; the sum is computed on a cache miss
+        KeyCanonicalization canonicalization = sumProperties.getKey().getCanonicalization();
+        int parallelThreshold = sumProperties.getParallel().getThreshold();
+        SumKey key = InputScanner.key(input.array(), input.size(), canonicalization, hashKey, parallelThreshold);
+        return new PreparedInput(input, canonicalization, key, parallelThreshold);
+    }
+
+    private record PreparedInput(IntArrayList input, KeyCanonicalization canonicalization, SumKey key,
+                                 int parallelThreshold) {
+
+        long sum() {
+            return InputScanner.sum(input.array(), input.size(), parallelThreshold);
+        }
+
+        boolean sameInput(PreparedInput other) {
+            return canonicalization.sameInput(input.array(), input.size(), other.input.array(), other.input.size());
+        }
+
+        byte[] encoded() {
+            return InputCodec.encode(canonicalization.canonicalOrder(input.array(), input.size()), input.size());
+        }
+
+        SumEntity toEntity(long sum) {
+            SumEntity entity = new SumEntity();
+            entity.setInputHash(key.toBytes());
+            entity.setInputData(encoded());
+            entity.setResult(sum);
+            entity.setLastAccessedAt(System.currentTimeMillis());
+            return entity;
+        }
+    }
 
-        return new SumResponse(sum);
+    private record Resolved(PreparedInput input, long result) {
     }
 }
@@ -0,0 +1,95 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves rows to the shard their key maps to after {@code sum.sharding.shards} or
+ * {@code active-shards} changed, on startup when {@code sum.sharding.rebalance} is set. Every
+ * shard is scanned in id order, and a misplaced row is copied to its shard before it is deleted
+ * from the old one, so requests served meanwhile either find it or recompute it there.
+ * Appended rows stay where they are, as they must share a shard with their parent, and so do
+ * rows something was appended to; lookups for those miss and store the full input instead.
+ * To go from a single database to shards, list the existing database as the first shard.
+ */
+@Slf4j
+@Component
+public class SumShardRebalancer implements ApplicationRunner {
+
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumShards sumShards;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!sumProperties.getSharding().isRebalance()) {
+            return;
+        }
+        rebalance();
+    }
+
+    /** Moves every misplaced row and returns how many were moved. */
+    public long rebalance() {
+        long moved = 0;
+        for (int shard = 0; shard < sumShards.count(); shard++) {
+            moved += rebalance(shard);
+        }
+        log.info("Rebalanced sum_data across {} active of {} shards, moved {} rows",
+                sumShards.active(), sumShards.count(), moved);
+        return moved;
+    }
+
+    private long rebalance(int shard) {
+        int chunkSize = sumProperties.getSharding().getRebalanceChunkSize();
+        long moved = 0;
+        long afterId = 0;
+        List<SumEntity> chunk;
+        do {
+            long from = afterId;
+            chunk = databaseCallLimiter.call(() -> sumJdbcRepository.findAfter(shard, from, chunkSize));
+            List<SumEntity> misplaced = new ArrayList<>();
+            for (SumEntity row : chunk) {
+                afterId = row.getId();
+                // Rows without a hash are unreachable until InputHashBackfill has run on them
+                if (row.getInputHash() == null || row.getParentId() != null
+                        || sumShards.indexOf(row.getInputHash()) == shard) {
+                    continue;
+                }
+                if (row.getInputData() == null) {
+                    // The copy is written in the binary form only
+                    IntArrayList values = IntArrayList.parse(row.getInputNumbers());
+                    row.setInputData(InputCodec.encode(values.array(), values.size()));
+                    row.setInputNumbers(null);
+                }
+                misplaced.add(row);
+            }
+            if (!misplaced.isEmpty()) {
+                databaseCallLimiter.run(() -> sumJdbcRepository.batchInsert(misplaced));
+                List<Long> ids = misplaced.stream().map(SumEntity::getId).toList();
+                // A parent keeps its copy here for its children; the moved copy serves lookups
+                moved += databaseCallLimiter.call(() -> sumJdbcRepository.deleteUnreferenced(shard, ids));
+            }
+        } while (chunk.size() == chunkSize);
+        return moved;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers newly computed rows in a bounded queue and writes them to {@code sum_data}
+ * in batches from a background thread, so a cache miss does not wait on the insert.
+ */
+@Slf4j
+@Component
+public class SumWriteBehind {
+
+    public enum OverflowPolicy {
+        /** Wait for room in the queue. */
+        BLOCK,
+        /** Skip persisting the row; the result is still served from the cache. */
+        DROP,
+        /** Insert the row synchronously on the calling thread. */
+        WRITE_THROUGH
+    }
+
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @Autowired
+    private Environment environment;
+
+    private BlockingQueue<SumEntity> queue;
+    private ScheduledExecutorService writer;
+
+    // A lock rather than synchronized, so a virtual writer thread is not pinned during the insert
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        SumProperties.WriteBehind config = sumProperties.getWriteBehind();
+        if (!config.isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("sum-write-behind").factory()
+                : Thread.ofPlatform().name("sum-write-behind").daemon().factory();
+        writer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = config.getFlushInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    public void submit(SumEntity entity) {
+        if (queue.offer(entity)) {
+            return;
+        }
+        switch (sumProperties.getWriteBehind().getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    queue.put(entity);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+            case DROP -> dropped.increment();
+            case WRITE_THROUGH -> {
+                databaseCallLimiter.run(() -> sumJdbcRepository.batchInsert(List.of(entity)));
+                written.increment();
+            }
+        }
+    }
+
+    /**
+     * Drains the queue in batches of at most {@code batch-size} rows.
+     */
+    public void flush() {
+        if (queue == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            int batchSize = sumProperties.getWriteBehind().getBatchSize();
+            List<SumEntity> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                try {
+                    databaseCallLimiter.run(() -> sumJdbcRepository.batchInsert(batch));
+                    written.add(batch.size());
+                } catch (RuntimeException e) {
+                    // Keep the writer alive; results stay available from the cache
+                    log.error("Failed to persist {} buffered sums", batch.size(), e);
+                    dropped.add(batch.size());
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pending() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
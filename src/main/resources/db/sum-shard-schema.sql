@@ -0,0 +1,17 @@
+-- sum_data on a shard datasource, matching what JPA creates on the primary. Runs on every
+-- startup with sum.sharding.initialize-schema, so it must leave an existing table alone.
+CREATE TABLE IF NOT EXISTS sum_data (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    input_hash VARBINARY(16),
+    input_data LONGBLOB,
+    input_numbers LONGTEXT,
+    result BIGINT NOT NULL,
+    parent_id BIGINT,
+    last_accessed_at BIGINT,
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY idx_sum_data_input_hash (input_hash),
+    KEY idx_sum_data_last_accessed_at (last_accessed_at),
+    KEY idx_sum_data_parent_id (parent_id),
+    KEY idx_sum_data_hit_count (hit_count)
+);
@@ -0,0 +1,182 @@
+package com.example.assignment_anulom.performance;
+
+import com.example.assignment_anulom.AssignmentAnulomApplication;
+import com.example.assignment_anulom.reactive.ReactiveSumApplication;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the servlet and the reactive application with the same number of concurrent
+ * keep-alive clients and compares throughput, live threads and heap growth per connection.
+ * Clients, servers and the load generator share one JVM, so the concurrency is capped by
+ * what the process's file descriptor limit allows for two sockets per client. Opt-in, as it
+ * runs for minutes: {@code mvn -Preactive test -Dtest=ReactiveLoadComparisonTest -Dload.clients=10000}.
+ */
+@EnabledIfSystemProperty(named = "load.clients", matches = "\\d+")
+@DisplayName("Reactive vs Servlet Load Comparison")
+class ReactiveLoadComparisonTest {
+
+    private static final int REQUESTED_CLIENTS = Integer.getInteger("load.clients", 0);
+    private static final int ROUNDS = 2;
+    private static final int WARMUP_REQUESTS = 500;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("Reactive stack should hold the same connections with far fewer threads")
+    void shouldServeConcurrentClientsWithFewerThreads() {
+        int clients = affordableClients();
+
+        // Reactive first: Tomcat's worker threads can outlive its context and would count against the next run
+        LoadResult reactive;
+        int threadsBefore = threads.getThreadCount();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveSumApplication.class)
+                .profiles("reactive", "reactive-h2")
+                .run(arguments())) {
+            reactive = measure(port(context), clients, threadsBefore);
+        }
+
+        LoadResult servlet;
+        threadsBefore = threads.getThreadCount();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AssignmentAnulomApplication.class)
+                .profiles("test")
+                .run(arguments(
+                        "--spring.main.web-application-type=servlet",
+                        "--server.tomcat.max-connections=" + (clients + 100),
+                        "--server.tomcat.accept-count=" + clients,
+                        "--spring.jpa.show-sql=false"))) {
+            servlet = measure(port(context), clients, threadsBefore);
+        }
+
+        System.out.println("Concurrent clients: " + clients + (clients < REQUESTED_CLIENTS
+                ? " (capped from " + REQUESTED_CLIENTS + " by the file descriptor limit)" : ""));
+        System.out.println("Servlet:  " + servlet);
+        System.out.println("Reactive: " + reactive);
+
+        assertEquals(0, servlet.failures(), "Servlet requests failed");
+        assertEquals(0, reactive.failures(), "Reactive requests failed");
+        assertTrue(reactive.serverThreads() < servlet.serverThreads(),
+                "Reactive should need fewer threads. Servlet: " + servlet + ", Reactive: " + reactive);
+    }
+
+    /** Threads are counted against the count before the application started, so pools grown during warm-up are included. */
+    private LoadResult measure(int port, int clients, int threadsBefore) {
+        ConnectionProvider connections = ConnectionProvider.builder("sum-load")
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(10))
+                .build();
+        try {
+            HttpClient http = HttpClient.create(connections)
+                    .baseUrl("http://127.0.0.1:" + port)
+                    .headers(headers -> headers.add("Content-Type", "application/json"))
+                    // Generous, since every client is in flight at once and queues behind the others
+                    .responseTimeout(Duration.ofMinutes(10));
+
+            // Warm up with distinct inputs so both stacks have JIT-compiled their request path
+            run(http, WARMUP_REQUESTS, 1, -1);
+
+            System.gc();
+            long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            AtomicInteger peakThreads = new AtomicInteger(threads.getThreadCount());
+            AtomicLong peakHeap = new AtomicLong(baselineHeap);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            }, 0, 20, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            int failures = run(http, clients, ROUNDS, 0);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.shutdownNow();
+
+            return new LoadResult(
+                    clients * ROUNDS / seconds,
+                    // Minus the sampler itself
+                    peakThreads.get() - threadsBefore - 1,
+                    (peakHeap.get() - baselineHeap) / clients,
+                    failures);
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    /** Returns the number of failed requests. */
+    private static int run(HttpClient http, int clients, int rounds, int salt) {
+        Long failures = Flux.range(0, clients)
+                .flatMap(client -> Flux.range(0, rounds)
+                        .concatMap(round -> request(http, "{\"numbers\": [" + salt + "," + client + "," + round + "]}")), clients)
+                .filter(status -> status != 200)
+                .count()
+                .block();
+        return failures.intValue();
+    }
+
+    private static Mono<Integer> request(HttpClient http, String body) {
+        return http.post()
+                .uri("/api/sum")
+                .send(ByteBufFlux.fromString(Mono.just(body)))
+                .responseSingle((response, content) -> content.asString().thenReturn(response.status().code()))
+                .onErrorReturn(-1);
+    }
+
+    private static int affordableClients() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof UnixOperatingSystemMXBean unix) {
+            long spare = unix.getMaxFileDescriptorCount() - unix.getOpenFileDescriptorCount() - 1000;
+            // One client socket and one accepted server socket per connection
+            return (int) Math.max(100, Math.min(REQUESTED_CLIENTS, spare / 2));
+        }
+        return REQUESTED_CLIENTS;
+    }
+
+    // Command-line arguments, so they win over application.yml and the test profile's debug logging
+    private static String[] arguments(String... extra) {
+        return Stream.concat(Stream.of(
+                "--server.port=0",
+                "--logging.level.com.example.assignment_anulom=INFO",
+                "--logging.level.org.springframework.web=INFO",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"), Stream.of(extra))
+                .toArray(String[]::new);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private record LoadResult(double requestsPerSecond, int serverThreads, long heapBytesPerConnection, int failures) {
+
+        @Override
+        public String toString() {
+            return Math.round(requestsPerSecond) + " req/s, " + serverThreads + " server threads, ~"
+                    + heapBytesPerConnection + " heap bytes/connection, " + failures + " failures";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.assignment_anulom.reactive;
+
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = ReactiveSumApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"reactive", "reactive-h2"})
+@DisplayName("Reactive Sum API Tests")
+class ReactiveSumApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private SumCache sumResultCache;
+
+    @Autowired
+    private HashKey hashKey;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM sum_data").fetch().rowsUpdated().block();
+        sumResultCache.clear();
+    }
+
+    @Test
+    @DisplayName("Should calculate, persist and then serve the sum from cache")
+    void shouldCalculateAndPersistSum() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/sum")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"numbers\": [2147483647, 2147483647, 1]}")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.result").isEqualTo(4294967295L);
+        }
+
+        assertEquals(1L, databaseClient.sql("SELECT COUNT(*) AS n FROM sum_data")
+                .map((row, metadata) -> row.get("n", Long.class)).one().block());
+        assertEquals(1, sumResultCache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Should answer from a stored row after the cache is cleared")
+    void shouldReadStoredRowOnCacheMiss() {
+        String body = "{\"numbers\": [1, 2, 3]}";
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                .exchange().expectStatus().isOk();
+        sumResultCache.clear();
+
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should reject empty and missing number lists with 400")
+    void shouldRejectEmptyInput() {
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue("{\"numbers\": []}")
+                .exchange().expectStatus().isBadRequest();
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue("{}")
+                .exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Should serve appended rows only once their parent chain matches the input")
+    void shouldVerifyAppendedRowsAgainstTheirParentChain() {
+        insert(1, new int[]{1, 2}, new int[]{1, 2}, 3, null);
+        insert(2, new int[]{1, 2, 7}, new int[]{7}, 10, 1L);
+        // Stored under the key of 1,2,8 but extending the chain to 1,2,9
+        insert(3, new int[]{1, 2, 8}, new int[]{9}, 12, 1L);
+
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue("{\"numbers\": [1, 2, 7]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo(10);
+        assertEquals(1, sumResultCache.stats().size());
+
+        webTestClient.post().uri("/api/sum").contentType(MediaType.APPLICATION_JSON).bodyValue("{\"numbers\": [1, 2, 8]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo(11);
+        assertEquals(1, sumResultCache.stats().size());
+    }
+
+    private void insert(long id, int[] input, int[] delta, long result, Long parentId) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO sum_data (id, input_hash, input_data, result, parent_id)"
+                        + " VALUES (:id, :hash, :data, :result, :parentId)")
+                .bind("id", id)
+                .bind("hash", InputHasher.hash(hashKey, input, 0, input.length).toBytes())
+                .bind("data", InputCodec.encode(delta, delta.length))
+                .bind("result", result);
+        (parentId == null ? insert.bindNull("parentId", Long.class) : insert.bind("parentId", parentId))
+                .fetch().rowsUpdated().block();
+    }
+}
@@ -0,0 +1,12 @@
+-- Mirrors the sum_data table the servlet application creates through JPA
+CREATE TABLE IF NOT EXISTS sum_data (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    input_hash VARBINARY(16),
+    input_data VARBINARY(1000000),
+    input_numbers VARCHAR(1000000),
+    result BIGINT NOT NULL,
+    parent_id BIGINT,
+    last_accessed_at BIGINT,
+    hit_count BIGINT NOT NULL DEFAULT 0
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_sum_data_input_hash ON sum_data (input_hash);
@@ -0,0 +1,38 @@
+package com.example.assignment_anulom.reactive;
+
+import com.example.assignment_anulom.config.CacheConfig;
+import com.example.assignment_anulom.config.HashKeyConfig;
+import com.example.assignment_anulom.config.SumProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Entry point of the WebFlux and R2DBC variant, built with {@code -Preactive}. It shares the
+ * codec, cache and model packages with the servlet application but none of its JDBC or JPA
+ * wiring. Everything in this package is limited to the {@code reactive} profile so the servlet
+ * application's component scan skips it when both are on the classpath.
+ */
+@Profile("reactive")
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class
+})
+@EnableConfigurationProperties(SumProperties.class)
+@Import({CacheConfig.class, HashKeyConfig.class})
+public class ReactiveSumApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveSumApplication.class);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assignment_anulom.reactive;
+
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@RestController
+@RequestMapping("/api/sum")
+public class ReactiveSumController {
+
+    @Autowired
+    private ReactiveSumServices reactiveSumServices;
+
+    @PostMapping
+    public Mono<SumResponse> calculate(@RequestBody SumRequest request) {
+        return Mono.defer(() -> reactiveSumServices.computeSum(request))
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.assignment_anulom.reactive;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to {@code sum_data}. Queries wait for a pooled R2DBC connection
+ * without holding a thread, so the pool size alone bounds database concurrency.
+ */
+@Profile("reactive")
+@Repository
+public class ReactiveSumRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<StoredSum> findByInputHash(byte[] inputHash) {
+        return databaseClient.sql("SELECT input_data, input_numbers, result, parent_id FROM sum_data WHERE input_hash = :hash")
+                .bind("hash", inputHash)
+                .map((row, metadata) -> storedSum(row))
+                .one();
+    }
+
+    public Mono<StoredSum> findById(long id) {
+        return databaseClient.sql("SELECT input_data, input_numbers, result, parent_id FROM sum_data WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> storedSum(row))
+                .one();
+    }
+
+    /** Emits false when a row with the same input hash already exists. */
+    public Mono<Boolean> insert(byte[] inputHash, byte[] inputData, long result) {
+        return databaseClient.sql("INSERT INTO sum_data (input_hash, input_data, result, last_accessed_at, hit_count)"
+                        + " VALUES (:hash, :data, :result, :accessedAt, 0)")
+                .bind("hash", inputHash)
+                .bind("data", inputData)
+                .bind("result", result)
+                .bind("accessedAt", System.currentTimeMillis())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0)
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(false));
+    }
+
+    private static StoredSum storedSum(Row row) {
+        return new StoredSum(
+                row.get("input_data", byte[].class),
+                row.get("input_numbers", String.class),
+                row.get("result", Long.class),
+                row.get("parent_id", Long.class));
+    }
+
+    // inputNumbers is only set on rows written before input_data existed
+    public record StoredSum(byte[] inputData, String inputNumbers, long result, Long parentId) {
+    }
+}
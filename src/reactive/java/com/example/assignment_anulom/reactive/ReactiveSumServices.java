@@ -0,0 +1,112 @@
+package com.example.assignment_anulom.reactive;
+
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputScanner;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.SumKey;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Same lookup-or-insert flow as {@code SumServices#computeSum}, without blocking. Keying
+ * and summing are CPU-bound: they run on the calling event loop for inputs up to the
+ * parallel threshold, and on the parallel scheduler beyond it, where the scan would
+ * otherwise hold the event loop while it waits for the fork-join pool.
+ */
+@Profile("reactive")
+@Service
+public class ReactiveSumServices {
+
+    @Autowired
+    private ReactiveSumRepository reactiveSumRepository;
+
+    @Autowired
+    private SumCache sumResultCache;
+
+    @Autowired
+    private SumProperties sumProperties;
+
+    @Autowired
+    private HashKey hashKey;
+
+    public Mono<SumResponse> computeSum(SumRequest request) {
+        if (request.getNumbers() == null || request.getNumbers().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Input number list cannot be empty."));
+        }
+        IntArrayList input = IntArrayList.from(request.getNumbers());
+        KeyCanonicalization canonicalization = sumProperties.getKey().getCanonicalization();
+        int parallelThreshold = sumProperties.getParallel().getThreshold();
+
+        return compute(input, parallelThreshold,
+                () -> InputScanner.key(input.array(), input.size(), canonicalization, hashKey, parallelThreshold))
+                .flatMap(key -> {
+                    Long cached = sumResultCache.get(key);
+                    return cached != null ? Mono.just(cached) : resolve(input, canonicalization, parallelThreshold, key);
+                })
+                .map(SumResponse::new);
+    }
+
+    private Mono<Long> resolve(IntArrayList input, KeyCanonicalization canonicalization, int parallelThreshold, SumKey key) {
+        byte[] hash = key.toBytes();
+        return reactiveSumRepository.findByInputHash(hash)
+                // Appended rows hold only their delta; the full input is rebuilt from the parent chain
+                .flatMap(stored -> chain(stored).flatMap(rows -> compute(input, parallelThreshold, () -> {
+                    IntArrayList values = storedInput(rows);
+                    if (canonicalization.sameInput(input.array(), input.size(), values.array(), values.size())) {
+                        sumResultCache.put(key, stored.result());
+                        return stored.result();
+                    }
+                    // Hash collision with a different stored input: answer without caching or persisting
+                    return InputScanner.sum(input.array(), input.size(), parallelThreshold);
+                })))
+                .switchIfEmpty(Mono.defer(() -> compute(input, parallelThreshold,
+                        () -> InputScanner.sum(input.array(), input.size(), parallelThreshold))
+                        .flatMap(sum -> {
+                            sumResultCache.put(key, sum);
+                            byte[] encoded = InputCodec.encode(canonicalization.canonicalOrder(input.array(), input.size()), input.size());
+                            return reactiveSumRepository.insert(hash, encoded, sum).thenReturn(sum);
+                        })));
+    }
+
+    /** The row and its ancestors, from the row itself up to the root. */
+    private Mono<List<ReactiveSumRepository.StoredSum>> chain(ReactiveSumRepository.StoredSum stored) {
+        return Mono.just(stored)
+                .expand(row -> row.parentId() == null ? Mono.empty() : reactiveSumRepository.findById(row.parentId())
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Missing parent row " + row.parentId()))))
+                .collectList();
+    }
+
+    private static IntArrayList storedInput(List<ReactiveSumRepository.StoredSum> chain) {
+        IntArrayList[] chunks = new IntArrayList[chain.size()];
+        int size = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            ReactiveSumRepository.StoredSum row = chain.get(chunks.length - 1 - i);
+            chunks[i] = InputCodec.read(row.inputData(), row.inputNumbers());
+            size += chunks[i].size();
+        }
+        int[] values = new int[size];
+        int offset = 0;
+        for (IntArrayList chunk : chunks) {
+            System.arraycopy(chunk.array(), 0, values, offset, chunk.size());
+            offset += chunk.size();
+        }
+        return new IntArrayList(values, size);
+    }
+
+    private static <T> Mono<T> compute(IntArrayList input, int parallelThreshold, Supplier<T> work) {
+        Mono<T> result = Mono.fromSupplier(work);
+        return input.size() > parallelThreshold ? result.subscribeOn(Schedulers.parallel()) : result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.assignment_anulom.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bounded LRU Cache Tests")
+class BoundedLruCacheTest {
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(100, 1024, (key, value) -> 1);
+
+        assertNull(cache.get("1,2,3"));
+        cache.put("1,2,3", 6);
+        assertEquals(6, cache.get("1,2,3"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void shouldEvictWhenEntryBoundIsExceeded() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(16, 1024 * 1024, (key, value) -> 1);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-" + i, i);
+        }
+
+        CacheStats stats = cache.stats();
+        assertTrue(stats.size() <= 16, "Size should stay within the entry bound but was " + stats.size());
+        assertEquals(1000 - stats.size(), stats.evictions());
+    }
+
+    @Test
+    void shouldHoldExactlyTheConfiguredNumberOfEntries() {
+        // Fewer entries than segments, and a count the segments do not divide evenly
+        for (int maxEntries : new int[]{1, 5, 100}) {
+            BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(maxEntries, 1024 * 1024, (key, value) -> 1);
+
+            for (int i = 0; i < 10_000; i++) {
+                cache.put(i, i);
+            }
+
+            assertEquals(maxEntries, cache.stats().size());
+        }
+    }
+
+    @Test
+    void shouldEvictWhenByteBoundIsExceeded() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(10_000, 16 * 100, (key, value) -> 10);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-" + i, i);
+        }
+
+        assertTrue(cache.stats().estimatedBytes() <= 16 * 100);
+        assertTrue(cache.stats().evictions() > 0);
+    }
+
+    @Test
+    void shouldKeepRecentlyUsedEntries() {
+        // One segment's worth of capacity per key keeps the ordering deterministic
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(32, 1024, (key, value) -> 1);
+
+        cache.put(0, 0);
+        cache.put(16, 16);
+        cache.get(0);
+        cache.put(32, 32);
+
+        assertEquals(0, cache.get(0));
+        assertNull(cache.get(16));
+        assertEquals(32, cache.get(32));
+    }
+
+    @Test
+    void shouldRejectNonPositiveBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<String, Integer>(0, 10, (key, value) -> 1));
+    }
+
+    @Test
+    void shouldListMostRecentlyUsedEntriesFirst() {
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(64, 1024, (key, value) -> 1);
+
+        // Keys 0, 16 and 32 share a segment, so their relative order is exact
+        cache.put(0, 0);
+        cache.put(16, 16);
+        cache.put(32, 32);
+        cache.get(0);
+
+        List<Integer> keys = cache.hottest(10).stream().map(Map.Entry::getKey).toList();
+        assertEquals(List.of(0, 32, 16), keys);
+        assertEquals(2, cache.hottest(2).size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Off-Heap Sum Cache Tests")
+class OffHeapSumCacheTest {
+
+    @Test
+    void shouldStoreOverwriteAndInvalidate() {
+        OffHeapSumCache cache = OffHeapSumCache.allocate(64 * 1024);
+        SumKey key = new SumKey(1, 2);
+
+        assertNull(cache.get(key));
+        cache.put(key, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, cache.get(key));
+        cache.put(key, -7);
+        assertEquals(-7, cache.get(key));
+        assertEquals(1, cache.stats().size());
+
+        cache.invalidate(key);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void shouldStayWithinCapacityWhenOverfilled() {
+        OffHeapSumCache cache = OffHeapSumCache.allocate(4096);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(new SumKey(i * 31L, i), i);
+        }
+
+        CacheStats stats = cache.stats();
+        assertEquals(4096, cache.capacityBytes());
+        assertTrue(stats.size() <= 4096 / OffHeapSumCache.SLOT_BYTES);
+        assertTrue(stats.evictions() > 0);
+        assertEquals(999, cache.get(new SumKey(999 * 31L, 999)));
+    }
+
+    @Test
+    void shouldShareEntriesThroughMappedFile(@TempDir Path dir) {
+        Path file = dir.resolve("sum-cache.bin");
+        OffHeapSumCache first = OffHeapSumCache.map(file, 64 * 1024);
+        OffHeapSumCache second = OffHeapSumCache.map(file, 64 * 1024);
+        SumKey key = new SumKey(42, 43);
+
+        first.put(key, 6442450941L);
+
+        assertEquals(6442450941L, second.get(key));
+        second.invalidate(key);
+        assertNull(first.get(key));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.assignment_anulom.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void shouldRunConcurrentCallsForSameKeyOnce() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.execute("1,2,3", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return 6;
+                })));
+            }
+            // Hold the leader until every other caller has joined its flight
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (flight.coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(6, result.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(CALLERS - 1, flight.coalesced());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldShareFailureWithWaitingCallers() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            while (flight.inFlight() == 0) {
+                Thread.sleep(1);
+            }
+            Future<Integer> follower = executor.submit(() -> flight.execute("k", () -> 0));
+            while (flight.coalesced() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(10, TimeUnit.SECONDS));
+            Exception followerFailure = assertThrows(Exception.class, () -> follower.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+            assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+        }
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldRunAgainOnceFlightHasCompleted() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        flight.execute("k", executions::incrementAndGet);
+        flight.execute("k", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, flight.coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
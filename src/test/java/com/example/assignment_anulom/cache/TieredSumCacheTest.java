@@ -0,0 +1,59 @@
+package com.example.assignment_anulom.cache;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tiered Sum Cache Tests")
+class TieredSumCacheTest {
+
+    private static TieredSumCache tiered(SumCache far, SumCacheBus bus) {
+        return new TieredSumCache(new BoundedLruCache<>(16, 1024, (key, result) -> 1), far, bus);
+    }
+
+    @Test
+    void shouldPromoteFarHitsIntoNearTier() {
+        OffHeapSumCache far = OffHeapSumCache.allocate(64 * 1024);
+        TieredSumCache cache = tiered(far, new LocalSumCacheBus());
+        SumKey key = new SumKey(1, 2);
+        far.put(key, 6);
+
+        assertEquals(6, cache.get(key));
+        assertEquals(6, cache.get(key));
+
+        assertEquals(1, cache.nearStats().hits());
+        assertEquals(1, cache.farStats().hits());
+        assertEquals(2, cache.stats().hits());
+    }
+
+    @Test
+    void shouldShareFreshResultsAndInvalidationsAcrossInstances() {
+        SumCacheBus bus = new LocalSumCacheBus();
+        TieredSumCache first = tiered(OffHeapSumCache.allocate(64 * 1024), bus);
+        TieredSumCache second = tiered(OffHeapSumCache.allocate(64 * 1024), bus);
+        SumKey key = new SumKey(3, 4);
+
+        first.put(key, 10);
+        assertEquals(10, second.get(key));
+        assertEquals(1, second.nearStats().hits());
+
+        second.invalidate(key);
+        assertNull(first.get(key));
+        assertNull(second.get(key));
+    }
+
+    @Test
+    void shouldWorkWithoutFarTier() {
+        TieredSumCache cache = tiered(null, new LocalSumCacheBus());
+        SumKey key = new SumKey(5, 6);
+
+        assertNull(cache.get(key));
+        cache.put(key, 11);
+
+        assertEquals(11, cache.get(key));
+        assertNull(cache.farStats());
+        assertEquals(1, cache.stats().misses());
+    }
+}
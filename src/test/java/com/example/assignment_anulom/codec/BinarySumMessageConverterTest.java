@@ -0,0 +1,109 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.model.SumResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Binary Sum Message Converter Tests")
+class BinarySumMessageConverterTest {
+
+    private final BinarySumMessageConverter converter = new BinarySumMessageConverter(200_000);
+
+    @Test
+    void shouldDecodeCountPrefixedLittleEndianInts() throws Exception {
+        SumRequest request = (SumRequest) converter.read(SumRequest.class, message(encode(1, -2, Integer.MAX_VALUE), true));
+
+        IntArrayList numbers = assertInstanceOf(IntArrayList.class, request.getNumbers());
+        assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, numbers.toIntArray());
+    }
+
+    @Test
+    void shouldDecodeLargeBodyWithoutContentLength() throws Exception {
+        int[] values = new int[100_000];
+        Arrays.setAll(values, i -> i - 50_000);
+
+        SumRequest request = (SumRequest) converter.read(SumRequest.class, message(encode(values), false));
+
+        assertArrayEquals(values, ((IntArrayList) request.getNumbers()).toIntArray());
+    }
+
+    @Test
+    void shouldRejectTruncatedOrMismatchedBodies() {
+        byte[] body = encode(1, 2, 3);
+        byte[] truncated = Arrays.copyOf(body, body.length - 2);
+
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(SumRequest.class, message(truncated, false)));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(SumRequest.class, message(truncated, true)));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(SumRequest.class, message(new byte[2], false)));
+    }
+
+    @Test
+    void shouldNotAllocateForAForgedCountOrContentLength() {
+        // Claims 200,000 elements and a matching length but sends none of them
+        byte[] header = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(200_000).array();
+        MockHttpInputMessage forged = new MockHttpInputMessage(header);
+        forged.getHeaders().setContentType(BinarySumMessageConverter.MEDIA_TYPE);
+        forged.getHeaders().setContentLength(Integer.BYTES + 200_000L * Integer.BYTES);
+
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(SumRequest.class, forged));
+    }
+
+    @Test
+    void shouldRejectCountsAboveTheLimitAsTooLarge() {
+        byte[] header = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(Integer.MAX_VALUE).array();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> converter.read(SumRequest.class, message(header, false)));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatusCode());
+    }
+
+    @Test
+    void shouldWriteResultAsLittleEndianLong() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(new SumResponse(6442450941L), BinarySumMessageConverter.MEDIA_TYPE, output);
+
+        assertEquals(6442450941L, ByteBuffer.wrap(output.getBodyAsBytes()).order(ByteOrder.LITTLE_ENDIAN).getLong());
+        assertEquals(8, output.getHeaders().getContentLength());
+    }
+
+    @Test
+    void shouldOnlyHandleSumPayloadsInItsOwnMediaType() {
+        assertTrue(converter.canRead(SumRequest.class, BinarySumMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canRead(SumRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(SumResponse.class, BinarySumMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(SumRequest.class, BinarySumMessageConverter.MEDIA_TYPE));
+    }
+
+    private static MockHttpInputMessage message(byte[] body, boolean withContentLength) {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(BinarySumMessageConverter.MEDIA_TYPE);
+        if (withContentLength) {
+            message.getHeaders().setContentLength(body.length);
+        }
+        return message;
+    }
+
+    static byte[] encode(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (values.length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(values.length);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.config.HashKeyConfig;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hash Key Tests")
+class HashKeyTest {
+
+    private static final int[] VALUES = {5, -3, 12, 7, 7, 0};
+
+    @Test
+    void shouldLeaveKeysUnchangedWithoutASecret() {
+        SumKey published = InputHasher.hash(HashKey.NONE, VALUES, 0, VALUES.length);
+
+        HashKey blank = HashKey.of(" ");
+
+        assertSame(HashKey.NONE, blank);
+        assertEquals(published, InputHasher.hash(blank, VALUES, 0, VALUES.length));
+        assertEquals(published.toHex(), blank.seal(published));
+    }
+
+    @Test
+    void shouldDeriveDifferentKeysPerSecret() {
+        SumKey published = InputHasher.hash(HashKey.NONE, VALUES, 0, VALUES.length);
+        SumKey publishedMultiset = MultisetHasher.hash(HashKey.NONE, VALUES, 0, VALUES.length);
+
+        SumKey first = InputHasher.hash(HashKey.of("first"), VALUES, 0, VALUES.length);
+        SumKey firstMultiset = MultisetHasher.hash(HashKey.of("first"), VALUES, 0, VALUES.length);
+        SumKey second = InputHasher.hash(HashKey.of("second"), VALUES, 0, VALUES.length);
+
+        assertNotEquals(published, first);
+        assertNotEquals(publishedMultiset, firstMultiset);
+        assertNotEquals(first, second);
+        assertEquals(first, InputHasher.hash(HashKey.of("first"), VALUES, 0, VALUES.length));
+        assertNotEquals(HashKey.of("first").fingerprint(), HashKey.of("second").fingerprint());
+        assertEquals(HashKey.of("first").fingerprint(), HashKey.of("first").fingerprint());
+    }
+
+    @Test
+    void shouldKeepCombiningKeysUnderASecret() {
+        HashKey hashKey = HashKey.of("secret");
+
+        SumKey prefix = InputHasher.hash(hashKey, VALUES, 0, 2);
+        SumKey suffix = InputHasher.hash(hashKey, VALUES, 2, VALUES.length - 2);
+        assertEquals(InputHasher.hash(hashKey, VALUES, 0, VALUES.length), InputHasher.combine(hashKey, prefix, suffix, VALUES.length - 2));
+        assertEquals(MultisetHasher.hash(hashKey, new int[]{7, 0, 12, 5, 7, -3}, 0, VALUES.length),
+                MultisetHasher.hash(hashKey, VALUES, 0, VALUES.length));
+    }
+
+    @Test
+    void shouldSealKeysIntoHandlesOnlyTheSecretOpens() {
+        HashKey hashKey = HashKey.of("secret");
+        SumKey key = new SumKey(0x0123456789ABCDEFL, 42);
+
+        String handle = hashKey.seal(key);
+
+        assertNotEquals(key.toHex(), handle);
+        assertEquals(key, hashKey.open(handle));
+        assertNotEquals(key, HashKey.of("other").open(handle));
+    }
+
+    @Test
+    void shouldRefuseToStartWithoutASecretUnlessAllowed() {
+        SumProperties properties = new SumProperties();
+        HashKeyConfig config = new HashKeyConfig();
+
+        assertThrows(IllegalStateException.class, () -> config.hashKey(properties));
+
+        properties.getKey().setAllowPublishedConstants(true);
+        assertSame(HashKey.NONE, config.hashKey(properties));
+        properties.getKey().setSecret("secret");
+        assertTrue(config.hashKey(properties).isKeyed());
+    }
+}
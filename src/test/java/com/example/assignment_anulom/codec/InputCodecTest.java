@@ -0,0 +1,93 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Stored Input Codec Tests")
+class InputCodecTest {
+
+    @Test
+    void shouldRoundTripExtremesAndMixedSigns() {
+        int[] values = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, 300, -300, Integer.MIN_VALUE};
+
+        byte[] encoded = InputCodec.encode(values, values.length);
+
+        assertArrayEquals(values, InputCodec.decode(encoded).toIntArray());
+    }
+
+    @Test
+    void shouldRoundTripRandomListsOfEverySize() {
+        Random random = new Random(21);
+        for (int size : new int[]{1, 2, 100, 10_000, 200_000}) {
+            int[] values = random.ints(size).toArray();
+            // Only the first size slots are encoded
+            int[] padded = Arrays.copyOf(values, size + 3);
+
+            assertArrayEquals(values, InputCodec.decode(InputCodec.encode(padded, size)).toIntArray());
+        }
+    }
+
+    @Test
+    void shouldDeltaEncodeSortedInput() {
+        int[] sorted = new int[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = 1_000_000 + i * 3;
+        }
+
+        byte[] encoded = InputCodec.encode(sorted, sorted.length);
+
+        assertEquals(InputCodec.DELTA, encoded[0] & InputCodec.DELTA);
+        assertArrayEquals(sorted, InputCodec.decode(encoded).toIntArray());
+    }
+
+    @Test
+    void shouldDeflateLongRepetitiveInputAndKeepShortInputPlain() {
+        int[] repetitive = new int[50_000];
+        for (int i = 0; i < repetitive.length; i++) {
+            repetitive[i] = i % 7 - 3;
+        }
+
+        byte[] encoded = InputCodec.encode(repetitive, repetitive.length);
+
+        assertEquals(InputCodec.DEFLATE, encoded[0] & InputCodec.DEFLATE);
+        assertTrue(encoded.length < repetitive.length / 10, "Encoded to " + encoded.length + " bytes");
+        assertArrayEquals(repetitive, InputCodec.decode(encoded).toIntArray());
+        assertEquals(0, InputCodec.encode(new int[]{1, 2, 3}, 3)[0] & InputCodec.DEFLATE);
+    }
+
+    @Test
+    void shouldBeSeveralTimesSmallerThanText() {
+        int[] values = new Random(7).ints(10_000, -100_000, 100_000).toArray();
+        int textBytes = Arrays.stream(values).mapToObj(String::valueOf)
+                .collect(Collectors.joining(",")).getBytes(StandardCharsets.UTF_8).length;
+
+        byte[] encoded = InputCodec.encode(values, values.length);
+
+        assertTrue(encoded.length * 2 < textBytes, encoded.length + " bytes against " + textBytes + " as text");
+    }
+
+    @Test
+    void shouldReadLegacyTextWhenNoBinaryFormIsStored() {
+        assertEquals(IntArrayList.of(4, -5, 6), InputCodec.read(null, "4,-5,6"));
+        assertEquals(IntArrayList.of(1), InputCodec.read(InputCodec.encode(new int[]{1}, 1), "ignored"));
+        assertThrows(IllegalArgumentException.class, () -> InputCodec.read(null, null));
+    }
+
+    @Test
+    void shouldRejectCorruptEncodings() {
+        byte[] encoded = InputCodec.encode(new int[]{1000, 2000, 3000}, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> InputCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> InputCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> InputCodec.decode(new byte[]{0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}));
+        assertThrows(IllegalArgumentException.class, () -> InputCodec.decode(new byte[]{InputCodec.DEFLATE, 0x7F, 1, 2, 3}));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Input Hasher Tests")
+class InputHasherTest {
+
+    @Test
+    void shouldProduceSameKeyForSameInput() {
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3), InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3));
+    }
+
+    @Test
+    void shouldDistinguishOrderAndLength() {
+        Set<SumKey> keys = new HashSet<>();
+        keys.add(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3));
+        keys.add(InputHasher.hash(HashKey.NONE, new int[]{3, 2, 1}, 0, 3));
+        keys.add(InputHasher.hash(HashKey.NONE, new int[]{0, 1, 2, 3}, 0, 4));
+        keys.add(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3, 0}, 0, 4));
+        keys.add(InputHasher.hash(HashKey.NONE, new int[]{0}, 0, 1));
+        assertEquals(5, keys.size());
+    }
+
+    @Test
+    void shouldNotCollideAcrossManySmallInputs() {
+        Set<SumKey> keys = new HashSet<>();
+        for (int a = -50; a < 50; a++) {
+            for (int b = -50; b < 50; b++) {
+                keys.add(InputHasher.hash(HashKey.NONE, new int[]{a, b}, 0, 2));
+            }
+        }
+        assertEquals(100 * 100, keys.size());
+    }
+
+    @Test
+    void shouldMatchReferenceModularArithmetic() {
+        BigInteger mod = BigInteger.valueOf(InputHasher.MOD);
+        long a = InputHasher.MOD - 1;
+        long b = 0x123456789ABCDEFL;
+        assertEquals(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(mod).longValue(), InputHasher.mulMod(a, b));
+        assertEquals(BigInteger.valueOf(a).add(BigInteger.valueOf(b)).mod(mod).longValue(), InputHasher.addMod(a, b));
+    }
+
+    @Test
+    void shouldRoundTripKeyBytes() {
+        SumKey key = InputHasher.hash(HashKey.NONE, new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, 0, 2);
+        assertEquals(key, SumKey.fromBytes(key.toBytes()));
+        assertEquals(key, SumKey.fromHex(key.toHex()));
+    }
+
+    @Test
+    void shouldCombineKeysOfConcatenatedLists() {
+        SumKey prefix = InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3);
+        SumKey suffix = InputHasher.hash(HashKey.NONE, new int[]{4, 5}, 0, 2);
+
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3, 4, 5}, 0, 5), InputHasher.combine(HashKey.NONE, prefix, suffix, 2));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.assignment_anulom.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Input Scanner Tests")
+class InputScannerTest {
+
+    @Test
+    void shouldSumBeyondIntRangeExactly() {
+        int[] values = new int[1000];
+        Arrays.fill(values, Integer.MAX_VALUE);
+
+        assertEquals(1000L * Integer.MAX_VALUE, InputScanner.sum(values, values.length, 64));
+    }
+
+    @Test
+    void shouldMatchSequentialScanWhenSplit() {
+        int[] values = new Random(42).ints(100_003).toArray();
+        long expectedSum = Arrays.stream(values).asLongStream().sum();
+
+        assertEquals(expectedSum, InputScanner.sum(values, values.length, Integer.MAX_VALUE));
+        assertEquals(expectedSum, InputScanner.sum(values, values.length, 1000));
+        for (KeyCanonicalization canonicalization : KeyCanonicalization.values()) {
+            assertEquals(InputScanner.key(values, values.length, canonicalization, HashKey.NONE, Integer.MAX_VALUE),
+                    InputScanner.key(values, values.length, canonicalization, HashKey.NONE, 1000),
+                    canonicalization + " key must not depend on the split");
+        }
+    }
+
+    @Test
+    void shouldOnlyScanTheLiveRegionOfTheBuffer() {
+        int[] buffer = {1, 2, 3, 99, 99};
+
+        assertEquals(6, InputScanner.sum(buffer, 3, 1));
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3), InputScanner.key(buffer, 3, KeyCanonicalization.ORDERED, HashKey.NONE, 1));
+    }
+
+    @Test
+    void shouldComposeOrderedKeysByAppending() {
+        InputHasher prefix = new InputHasher(HashKey.NONE);
+        InputHasher suffix = new InputHasher(HashKey.NONE);
+        prefix.update(7);
+        prefix.update(-1);
+        suffix.update(Integer.MIN_VALUE);
+
+        prefix.append(suffix);
+
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{7, -1, Integer.MIN_VALUE}, 0, 3), prefix.key());
+        assertEquals(3, prefix.length());
+    }
+}
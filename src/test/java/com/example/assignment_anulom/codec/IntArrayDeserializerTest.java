@@ -0,0 +1,61 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.IntArrayList;
+import com.example.assignment_anulom.model.SumRequest;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Int Array Deserializer Tests")
+class IntArrayDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldParseNumbersIntoPrimitiveBuffer() throws Exception {
+        SumRequest request = objectMapper.readValue("{\"numbers\": [1, -2, 2147483647]}", SumRequest.class);
+
+        IntArrayList numbers = assertInstanceOf(IntArrayList.class, request.getNumbers());
+        assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, numbers.toIntArray());
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() throws Exception {
+        StringBuilder json = new StringBuilder("{\"numbers\": [");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        json.append("]}");
+
+        SumRequest request = objectMapper.readValue(json.toString(), SumRequest.class);
+
+        assertEquals(10_000, request.getNumbers().size());
+        assertEquals(9_999, request.getNumbers().get(9_999));
+    }
+
+    @Test
+    void shouldKeepEmptyAndNullArrays() throws Exception {
+        assertTrue(objectMapper.readValue("{\"numbers\": []}", SumRequest.class).getNumbers().isEmpty());
+        assertNull(objectMapper.readValue("{\"numbers\": null}", SumRequest.class).getNumbers());
+    }
+
+    @Test
+    void shouldRejectNonIntegerElements() {
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"numbers\": [1, \"2\"]}", SumRequest.class));
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"numbers\": [1, 3.5]}", SumRequest.class));
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"numbers\": 5}", SumRequest.class));
+    }
+
+    @Test
+    void shouldRejectOutOfRangeIntegers() {
+        assertThrows(JsonMappingException.class,
+                () -> objectMapper.readValue("{\"numbers\": [2147483648]}", SumRequest.class));
+    }
+}
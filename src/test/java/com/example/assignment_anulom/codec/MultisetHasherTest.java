@@ -0,0 +1,68 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Multiset Hasher Tests")
+class MultisetHasherTest {
+
+    @Test
+    void shouldProduceSameKeyForPermutations() {
+        SumKey key = MultisetHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3);
+        assertEquals(key, MultisetHasher.hash(HashKey.NONE, new int[]{3, 2, 1}, 0, 3));
+        assertEquals(key, MultisetHasher.hash(HashKey.NONE, new int[]{2, 3, 1}, 0, 3));
+    }
+
+    @Test
+    void shouldDistinguishMultiplicityAndLength() {
+        Set<SumKey> keys = new HashSet<>();
+        keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{1, 2}, 0, 2));
+        keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{1, 1, 2}, 0, 3));
+        keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{1, 2, 2}, 0, 3));
+        keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{0, 1, 2}, 0, 3));
+        keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{3}, 0, 1));
+        assertEquals(5, keys.size());
+    }
+
+    @Test
+    void shouldNotCollideAcrossManySmallMultisets() {
+        Set<SumKey> keys = new HashSet<>();
+        for (int a = -50; a < 50; a++) {
+            for (int b = a; b < 50; b++) {
+                keys.add(MultisetHasher.hash(HashKey.NONE, new int[]{a, b}, 0, 2));
+            }
+        }
+        assertEquals(100 * 101 / 2, keys.size());
+    }
+
+    @Test
+    void shouldNeverShareKeysWithOrderedMode() {
+        int[] values = {4, 5, 6};
+        assertNotEquals(InputHasher.hash(HashKey.NONE, values, 0, 3), MultisetHasher.hash(HashKey.NONE, values, 0, 3));
+    }
+
+    @Test
+    void shouldCompareInputsByCanonicalForm() {
+        int[] a = {3, 1, 2, 0};
+        int[] b = {1, 2, 3, 9};
+
+        assertTrue(KeyCanonicalization.MULTISET.sameInput(a, 3, b, 3));
+        assertFalse(KeyCanonicalization.ORDERED.sameInput(a, 3, b, 3));
+        assertArrayEquals(new int[]{1, 2, 3}, KeyCanonicalization.MULTISET.canonicalOrder(a, 3));
+        assertArrayEquals(new int[]{3, 1, 2, 0}, a);
+    }
+
+    @Test
+    void shouldCombineKeysOfUnion() {
+        SumKey first = MultisetHasher.hash(HashKey.NONE, new int[]{3, 1}, 0, 2);
+        SumKey second = MultisetHasher.hash(HashKey.NONE, new int[]{2, 1, 9}, 0, 3);
+
+        assertEquals(MultisetHasher.hash(HashKey.NONE, new int[]{1, 1, 2, 3, 9}, 0, 5), MultisetHasher.combine(first, second));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.assignment_anulom.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Streaming Sum Reader Tests")
+class StreamingSumReaderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void shouldSumRequestObject() throws IOException {
+        StreamingSumReader reader = read("{\"other\": {\"x\": [9]}, \"numbers\": [1, 2, 3, 4, 5]}");
+
+        assertEquals(15, reader.sum());
+        assertEquals(5, reader.count());
+    }
+
+    @Test
+    void shouldSumBareArray() throws IOException {
+        StreamingSumReader reader = read("[10, -5, 3]");
+
+        assertEquals(8, reader.sum());
+    }
+
+    @Test
+    void shouldProduceSameKeyAsBufferedPath() throws IOException {
+        StreamingSumReader reader = read("{\"numbers\": [1, 2, 3]}");
+
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3), reader.key());
+    }
+
+    @Test
+    void shouldRejectNonIntegerElements() {
+        assertThrows(JsonParseException.class, () -> read("{\"numbers\": [1, 2.5]}"));
+        assertThrows(JsonParseException.class, () -> read("\"numbers\""));
+    }
+
+    private StreamingSumReader read(String json) throws IOException {
+        StreamingSumReader reader = new StreamingSumReader(new InputHasher(HashKey.NONE));
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            reader.read(parser);
+        }
+        return reader;
+    }
+}
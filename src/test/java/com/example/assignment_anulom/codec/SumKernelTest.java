@@ -0,0 +1,47 @@
+package com.example.assignment_anulom.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sum Kernel Tests")
+class SumKernelTest {
+
+    // Surefire runs with --add-modules jdk.incubator.vector
+    private final SumKernel vector = SumKernels.vector().orElseThrow();
+
+    @Test
+    void shouldSelectVectorKernelWhenModuleIsPresent() {
+        assertTrue(ModuleLayer.boot().findModule(SumKernels.VECTOR_MODULE).isPresent());
+        assertEquals("VectorSumKernel", vector.getClass().getSimpleName());
+        if (SumKernels.selected() != ScalarSumKernel.INSTANCE) {
+            assertSame(vector, SumKernels.selected());
+        }
+    }
+
+    @Test
+    void shouldMatchScalarKernelOnRandomInputs() {
+        Random random = new Random(7);
+        for (int length : new int[]{0, 1, 7, 15, 16, 17, 1000, 40_000, 100_001}) {
+            int[] values = random.ints(length).toArray();
+            int from = Math.min(3, length);
+            assertEquals(ScalarSumKernel.INSTANCE.sum(values, from, length), vector.sum(values, from, length),
+                    "length " + length);
+        }
+    }
+
+    @Test
+    void shouldNotOverflowAcrossBlocksOfExtremeValues() {
+        int[] maxima = new int[200_000];
+        int[] minima = new int[200_000];
+        Arrays.fill(maxima, Integer.MAX_VALUE);
+        Arrays.fill(minima, Integer.MIN_VALUE);
+
+        assertEquals(200_000L * Integer.MAX_VALUE, vector.sum(maxima, 0, maxima.length));
+        assertEquals(200_000L * Integer.MIN_VALUE, vector.sum(minima, 0, minima.length));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assignment_anulom.codec;
+
+import com.example.assignment_anulom.model.SumKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sum Snapshot File Tests")
+class SumSnapshotsTest {
+
+    private static final long FINGERPRINT = 0x5EC2E7L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReplayEntriesColdestFirst() throws IOException {
+        Path file = dir.resolve("cache.snapshot");
+        SumSnapshots.write(file, FINGERPRINT, List.of(
+                Map.entry(new SumKey(1, 1), 10L),
+                Map.entry(new SumKey(2, 2), Long.MIN_VALUE),
+                Map.entry(new SumKey(3, 3), 30L)));
+
+        List<Map.Entry<SumKey, Long>> replayed = new ArrayList<>();
+        int count = SumSnapshots.read(file, FINGERPRINT, (key, result) -> replayed.add(Map.entry(key, result)));
+
+        assertEquals(3, count);
+        assertEquals(List.of(
+                Map.entry(new SumKey(3, 3), 30L),
+                Map.entry(new SumKey(2, 2), Long.MIN_VALUE),
+                Map.entry(new SumKey(1, 1), 10L)), replayed);
+        assertFalse(Files.exists(dir.resolve("cache.snapshot.tmp")));
+    }
+
+    @Test
+    void shouldRejectTruncatedOrForeignFiles() throws IOException {
+        Path file = dir.resolve("cache.snapshot");
+        SumSnapshots.write(file, FINGERPRINT, List.of(Map.entry(new SumKey(1, 1), 10L)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> SumSnapshots.read(file, FINGERPRINT, (key, result) -> fail()));
+
+        Files.write(file, new byte[bytes.length]);
+        assertThrows(IOException.class, () -> SumSnapshots.read(file, FINGERPRINT, (key, result) -> fail()));
+    }
+
+    @Test
+    void shouldRejectFilesWrittenUnderAnotherHashKey() throws IOException {
+        Path file = dir.resolve("cache.snapshot");
+        SumSnapshots.write(file, FINGERPRINT, List.of(Map.entry(new SumKey(1, 1), 10L)));
+
+        assertThrows(IOException.class, () -> SumSnapshots.read(file, FINGERPRINT + 1, (key, result) -> fail()));
+    }
+}
@@ -1,23 +1,34 @@
 package com.example.assignment_anulom.controller;
 
+import com.example.assignment_anulom.metrics.SumMetrics;
 import com.example.assignment_anulom.model.SumRequest;
 import com.example.assignment_anulom.model.SumResponse;
+import com.example.assignment_anulom.services.InvalidAppendException;
+import com.example.assignment_anulom.services.SumOverloadedException;
 import com.example.assignment_anulom.services.SumServices;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -31,6 +42,9 @@ class SumControllerTest {
     @Mock
     private SumServices sumServices;
 
+    @Spy
+    private SumMetrics sumMetrics = new SumMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private SumController sumController;
 
@@ -104,4 +118,59 @@ class SumControllerTest {
                 .content(invalidJson))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldStreamSumSuccessfully() throws Exception {
+        when(sumServices.computeStreamingSum(any(InputStream.class))).thenReturn(new SumResponse(6));
+
+        mockMvc.perform(post("/api/sum/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1, 2, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(6));
+    }
+
+    @Test
+    void shouldRejectMalformedStream() throws Exception {
+        when(sumServices.computeStreamingSum(any(InputStream.class)))
+                .thenThrow(new JsonParseException(null, "Expected an integer array element"));
+
+        mockMvc.perform(post("/api/sum/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1, \"x\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableWithRetryAfterWhenOverloaded() throws Exception {
+        when(sumServices.computeSum(any(SumRequest.class)))
+                .thenThrow(new SumOverloadedException("Limit reached", Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1, 2, 3]}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void shouldRejectAppendWhoseSumOverflows() throws Exception {
+        when(sumServices.append(any())).thenThrow(new InvalidAppendException("Appended sum overflows a 64-bit result."));
+
+        mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseId\": 7, \"numbers\": [1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldNotMapAMissingParentRowToAClientError() {
+        when(sumServices.append(any())).thenThrow(new IllegalStateException("Missing parent row 7"));
+
+        // Left to the container, which answers 500
+        ServletException e = assertThrows(ServletException.class, () -> mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseId\": 8, \"numbers\": [1]}")));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -1,29 +1,51 @@
 package com.example.assignment_anulom.integration;
 
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.codec.BinarySumMessageConverter;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.model.SumKey;
 import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumJdbcRepository.StoredResult;
 import com.example.assignment_anulom.repository.SumRequestRepository;
+import com.example.assignment_anulom.services.InputDataBackfill;
+import com.example.assignment_anulom.services.InputHashBackfill;
+import com.example.assignment_anulom.services.SumRetentionCompactor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureWebMvc
+@AutoConfigureObservability
 @ActiveProfiles("test")
 @DisplayName("Sum API Integration Tests")
 class SumApiIntegrationTest {
@@ -34,15 +56,37 @@ class SumApiIntegrationTest {
     @Autowired
     private SumRequestRepository sumRequestRepository;
 
+    @Autowired
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Autowired
+    private SumCache sumResultCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private InputDataBackfill inputDataBackfill;
+
+    @Autowired
+    private InputHashBackfill inputHashBackfill;
+
+    @Autowired
+    private HashKey hashKey;
+
+    @Autowired
+    private SumRetentionCompactor sumRetentionCompactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         sumRequestRepository.deleteAll(); // Clean up database before each test
+        sumResultCache.clear(); // Cached results would otherwise outlive the wiped rows
     }
 
     @Test
@@ -173,7 +217,7 @@ class SumApiIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.result").value(-2147483648)); // Overflow result
+                .andExpect(jsonPath("$.result").value(2147483648L)); // Exact, beyond the int range
     }
 
     @Test
@@ -263,7 +307,7 @@ class SumApiIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.result").value(-2147483647)); // Overflow result
+                .andExpect(jsonPath("$.result").value(6442450941L)); // Exact, beyond the int range
     }
 
     @Test
@@ -312,7 +356,7 @@ class SumApiIntegrationTest {
 
         // Then - Verify data is persisted in database
         assert sumRequestRepository.count() == 1;
-        var savedEntity = sumRequestRepository.findByInputNumbers("1,2,3");
+        var savedEntity = findStored(1, 2, 3);
         assert savedEntity.isPresent();
         assert savedEntity.get().getResult() == 6;
     }
@@ -362,4 +406,322 @@ class SumApiIntegrationTest {
                 .content(requestWithNonIntegers))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should calculate a batch of sums in order and store each distinct input once")
+    void shouldCalculateBatchOfSums() throws Exception {
+        // Given - one input already stored by a single request
+        SumRequest stored = new SumRequest();
+        stored.setNumbers(Arrays.asList(1, 2, 3));
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(stored)))
+                .andExpect(status().isOk());
+        sumResultCache.clear();
+
+        String batch = "[{\"numbers\": [1, 2, 3]}, {\"numbers\": [4, 5]}, {\"numbers\": [4, 5]}, {\"numbers\": [-7]}]";
+
+        // When & Then
+        mockMvc.perform(post("/api/sum/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].result").value(6))
+                .andExpect(jsonPath("$[1].result").value(9))
+                .andExpect(jsonPath("$[2].result").value(9))
+                .andExpect(jsonPath("$[3].result").value(-7));
+
+        assert sumRequestRepository.count() == 3;
+        assert findStored(4, 5).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should expose stage latency histograms, cache counters and pool gauges for scraping")
+    void shouldExposeSumMetricsForScraping() throws Exception {
+        // Given
+        SumRequest request = new SumRequest();
+        request.setNumbers(Arrays.asList(1, 2, 3));
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("sum_request_seconds_bucket{")))
+                .andExpect(content().string(containsString("sum_stage_seconds_bucket{application=\"assignment-anulom\",stage=\"bind\",le=")))
+                .andExpect(content().string(containsString("sum_stage_seconds_count{application=\"assignment-anulom\",stage=\"lookup\"}")))
+                .andExpect(content().string(containsString("sum_cache_requests_total{application=\"assignment-anulom\",result=\"miss\"}")))
+                .andExpect(content().string(containsString("sum_input_size_numbers_count")))
+                .andExpect(content().string(containsString("sum_db_limiter_queued")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+
+    @Test
+    @DisplayName("Should register a list once and answer range sums from its prefix index")
+    void shouldAnswerRangeSumsFromRegisteredList() throws Exception {
+        // Given
+        String registered = mockMvc.perform(post("/api/sum/prefix")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [3, 1, 4, 1, 5, 9, 2, 6]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length").value(8))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(registered).get("id").asLong();
+
+        // When & Then
+        mockMvc.perform(get("/api/sum/prefix/{id}/range", id).param("from", "2").param("to", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(19));
+        mockMvc.perform(get("/api/sum/prefix/{id}/range", id).param("from", "6").param("to", "8"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/sum/prefix/{id}/range", id + 1000).param("from", "0").param("to", "0"))
+                .andExpect(status().isNotFound());
+
+        // Slices are answered from the index and never become sum_data rows
+        assert sumRequestRepository.count() == 0;
+    }
+
+    @Test
+    @DisplayName("Should append to a stored input by id and by hash, storing only each delta")
+    void shouldAppendToStoredInput() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1, 2, 3]}"))
+                .andExpect(status().isOk());
+        long baseId = findStored(1, 2, 3).orElseThrow().getId();
+
+        // When
+        String first = mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseId\": " + baseId + ", \"numbers\": [4]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(10))
+                .andReturn().getResponse().getContentAsString();
+        String hash = objectMapper.readTree(first).get("hash").asText();
+
+        mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseHash\": \"" + hash + "\", \"numbers\": [5, 6]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(21));
+
+        // Then - the full list resolves to the appended row, verified through its parent chain
+        sumResultCache.clear();
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1, 2, 3, 4, 5, 6]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(21));
+
+        assert sumRequestRepository.count() == 3;
+        assert findStored(5, 6).isPresent();
+
+        mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseId\": " + (baseId + 1000) + ", \"numbers\": [1]}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should accept and produce the binary int32 format when negotiated")
+    void shouldNegotiateBinaryFormat() throws Exception {
+        // Given
+        byte[] body = ByteBuffer.allocate(4 * 4).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(3).putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).putInt(-5)
+                .array();
+
+        // When
+        byte[] response = mockMvc.perform(post("/api/sum")
+                .contentType(BinarySumMessageConverter.MEDIA_TYPE)
+                .accept(BinarySumMessageConverter.MEDIA_TYPE)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinarySumMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertEquals(4294967289L, ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN).getLong());
+
+        // A binary request without a binary Accept still gets JSON back
+        mockMvc.perform(post("/api/sum")
+                .contentType(BinarySumMessageConverter.MEDIA_TYPE)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.result").value(4294967289L));
+    }
+
+    @Test
+    @DisplayName("Should answer from rows stored as text and re-encode them when migrating")
+    void shouldReadAndMigrateLegacyTextRows() throws Exception {
+        // Given - a row written before input_data existed
+        SumEntity legacy = new SumEntity();
+        legacy.setInputHash(InputHasher.hash(hashKey, new int[]{7, 8, 9}, 0, 3).toBytes());
+        legacy.setInputNumbers("7,8,9");
+        legacy.setResult(24);
+        sumRequestRepository.save(legacy);
+
+        // When & Then - matched against the text form, no second row is stored
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [7, 8, 9]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(24));
+        assertEquals(1, sumRequestRepository.count());
+
+        assertEquals(1, inputDataBackfill.backfill());
+        SumEntity migrated = sumRequestRepository.findAll().get(0);
+        assertEquals(null, migrated.getInputNumbers());
+        assertEquals(List.of(7, 8, 9), InputCodec.decode(migrated.getInputData()));
+
+        sumResultCache.clear();
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [7, 8, 9]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(24));
+        assertEquals(1, sumRequestRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should skip text rows that fail to re-encode and migrate the rest")
+    void shouldSkipLegacyTextRowsThatFailToMigrate() throws Exception {
+        // Given - a corrupt text row ahead of a valid one
+        SumEntity corrupt = new SumEntity();
+        corrupt.setInputNumbers("1,x");
+        corrupt.setResult(1);
+        corrupt = sumRequestRepository.save(corrupt);
+        SumEntity valid = new SumEntity();
+        valid.setInputNumbers("2,3");
+        valid.setResult(5);
+        valid = sumRequestRepository.save(valid);
+
+        // When & Then
+        assertEquals(1, inputDataBackfill.backfill());
+        assertEquals("1,x", sumRequestRepository.findById(corrupt.getId()).orElseThrow().getInputNumbers());
+        assertEquals(List.of(2, 3), InputCodec.decode(sumRequestRepository.findById(valid.getId()).orElseThrow().getInputData()));
+    }
+
+    @Test
+    @DisplayName("Should backfill missing hashes and merge rows whose input was stored again")
+    void shouldBackfillInputHashesAndMergeDuplicates() throws Exception {
+        // Given - two rows from before hashing, one of whose inputs has since been stored again
+        SumEntity duplicate = new SumEntity();
+        duplicate.setInputData(InputCodec.encode(new int[]{4, 5}, 2));
+        duplicate.setResult(9);
+        sumRequestRepository.save(duplicate);
+        SumEntity unique = new SumEntity();
+        unique.setInputNumbers("6");
+        unique.setResult(6);
+        sumRequestRepository.save(unique);
+        SumEntity child = new SumEntity();
+        child.setInputHash(InputHasher.hash(hashKey, new int[]{1, 4, 5}, 0, 3).toBytes());
+        child.setInputData(InputCodec.encode(new int[]{1}, 1));
+        child.setResult(10);
+        child.setParentId(duplicate.getId());
+        sumRequestRepository.save(child);
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [4, 5]}"))
+                .andExpect(status().isOk());
+        long storedAgain = sumRequestRepository.findByInputHash(InputHasher.hash(hashKey, new int[]{4, 5}, 0, 2).toBytes())
+                .orElseThrow().getId();
+
+        // When
+        long backfilled = inputHashBackfill.backfill();
+
+        // Then
+        assertEquals(2, backfilled);
+        assertEquals(3, sumRequestRepository.count());
+        assertEquals(Optional.empty(), sumRequestRepository.findById(duplicate.getId()));
+        assert sumRequestRepository.findByInputHash(InputHasher.hash(hashKey, new int[]{6}, 0, 1).toBytes()).isPresent();
+        assertEquals(storedAgain, sumRequestRepository.findById(child.getId()).orElseThrow().getParentId());
+    }
+
+    @Test
+    @DisplayName("Should delete idle rows by tiered TTL while keeping hot rows, appended-to parents and rows never accessed")
+    void shouldCompactIdleRows() throws Exception {
+        // Given
+        for (String numbers : List.of("[1]", "[2]", "[3]", "[4]", "[5]")) {
+            mockMvc.perform(post("/api/sum")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"numbers\": " + numbers + "}"))
+                    .andExpect(status().isOk());
+        }
+        long parentId = findStored(5).orElseThrow().getId();
+        mockMvc.perform(post("/api/sum/append")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseId\": " + parentId + ", \"numbers\": [6]}"))
+                .andExpect(status().isOk());
+
+        long now = System.currentTimeMillis();
+        long fortyDaysAgo = now - Duration.ofDays(40).toMillis();
+        age(1, fortyDaysAgo, 0);                                  // cold and idle past ttl
+        age(2, fortyDaysAgo, 50);                                 // hot, idle only past ttl
+        age(3, now - Duration.ofDays(200).toMillis(), 50);        // hot, idle past hot-ttl
+        age(5, fortyDaysAgo, 0);                                  // cold, but a parent
+        jdbcTemplate.update("UPDATE sum_data SET last_accessed_at = NULL WHERE id = ?",
+                findStored(4).orElseThrow().getId());             // written before retention
+        long reclaimedBefore = sumRetentionCompactor.reclaimedBytes();
+
+        // When
+        int deleted = sumRetentionCompactor.compact();
+
+        // Then
+        assertEquals(2, deleted);
+        assertEquals(Optional.empty(), findStored(1));
+        assertEquals(Optional.empty(), findStored(3));
+        assert findStored(2).isPresent();
+        assert findStored(4).orElseThrow().getLastAccessedAt() >= now;
+        assert findStored(5).isPresent();
+        assertEquals(4, sumRequestRepository.count());
+        assert sumRetentionCompactor.reclaimedBytes() > reclaimedBefore;
+
+        // A deleted input is simply recomputed and stored again
+        sumResultCache.clear();
+        mockMvc.perform(post("/api/sum")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"numbers\": [1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(1));
+        assert findStored(1).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should list the most hit stored results for warming the cache")
+    void shouldFindHottestStoredResults() throws Exception {
+        // Given
+        for (String numbers : List.of("[1]", "[2]", "[3]")) {
+            mockMvc.perform(post("/api/sum")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"numbers\": " + numbers + "}"))
+                    .andExpect(status().isOk());
+        }
+        long now = System.currentTimeMillis();
+        age(1, now, 5);
+        age(3, now, 20);
+
+        // When
+        List<StoredResult> hottest = sumJdbcRepository.findHottest(0, 2);
+
+        // Then
+        assertEquals(List.of(new StoredResult(InputHasher.hash(hashKey, new int[]{3}, 0, 1), 3, 20),
+                new StoredResult(InputHasher.hash(hashKey, new int[]{1}, 0, 1), 1, 5)), hottest);
+    }
+
+    private void age(int number, long lastAccessedAt, long hitCount) {
+        jdbcTemplate.update("UPDATE sum_data SET last_accessed_at = ?, hit_count = ? WHERE id = ?",
+                lastAccessedAt, hitCount, findStored(number).orElseThrow().getId());
+    }
+
+    private Optional<SumEntity> findStored(Integer... numbers) {
+        List<Integer> expected = Arrays.asList(numbers);
+        return sumRequestRepository.findAll().stream()
+                .filter(entity -> InputCodec.read(entity.getInputData(), entity.getInputNumbers()).equals(expected))
+                .findFirst();
+    }
+}
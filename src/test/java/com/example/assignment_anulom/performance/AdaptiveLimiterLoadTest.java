@@ -0,0 +1,133 @@
+package com.example.assignment_anulom.performance;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.services.DatabaseCallLimiter;
+import com.example.assignment_anulom.services.SumOverloadedException;
+import com.example.assignment_anulom.services.SumServices;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many clients send cache misses to a database that serves only a few lookups at a time, so
+ * without a limit every request queues behind all the others. With the adaptive limit the
+ * excess is turned away at once and admitted requests see only a short queue. Rejections
+ * return within microseconds, so latency is compared over admitted requests only.
+ */
+@DisplayName("Adaptive Limiter Load Tests")
+class AdaptiveLimiterLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int DATABASE_CONNECTIONS = 8;
+    private static final long DATABASE_LATENCY_MS = 20;
+    private static final int[] HIT = {42, 42};
+
+    @Test
+    @DisplayName("Limiting should bound tail latency against a slow database and keep serving hits")
+    void shouldBoundTailLatencyWhenTheDatabaseIsSlow() throws Exception {
+        Result unlimited = run(false);
+        Result limited = run(true);
+
+        System.out.println("Unlimited: " + unlimited);
+        System.out.println("Limited:   " + limited);
+
+        assertEquals(0, unlimited.rejected());
+        assertTrue(limited.rejected() > 0);
+        assertEquals(0, limited.rejectedHits(), "Cache hits must never be shed");
+        assertTrue(limited.admittedP99Micros() * 2 < unlimited.admittedP99Micros(),
+                "Tail latency should be bounded. Unlimited: " + unlimited + ", Limited: " + limited);
+    }
+
+    private Result run(boolean limit) throws Exception {
+        SumProperties properties = new SumProperties();
+        properties.getDbLimiter().setPermits(DATABASE_CONNECTIONS);
+        properties.getDbLimiter().setAcquireTimeout(Duration.ofMinutes(1));
+        SumProperties.ConcurrencyLimit config = properties.getConcurrencyLimit();
+        config.setEnabled(limit);
+        config.setInitialLimit(16);
+        config.setMinLimit(DATABASE_CONNECTIONS);
+        config.setMaxLimit(64);
+        SumServices sumServices = SlowDatabaseServices.create(properties, new DatabaseCallLimiter(properties),
+                DATABASE_LATENCY_MS, CLIENTS * REQUESTS_PER_CLIENT * 2);
+        sumServices.computeSum(requestOf(HIT));
+
+        AtomicInteger rejectedHits = new AtomicInteger();
+        List<Future<Latencies>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.add(executor.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        timed(sumServices, new int[]{client, i}, latencies);
+                        if (!timed(sumServices, HIT, latencies)) {
+                            rejectedHits.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        Latencies all = new Latencies();
+        for (Future<Latencies> client : clients) {
+            all.admitted.addAll(client.get().admitted);
+            all.rejected.addAll(client.get().rejected);
+        }
+        return new Result(p99(all.admitted) / 1000, p99(all.rejected) / 1000, all.rejected.size(), rejectedHits.get());
+    }
+
+    /** Records how long the request took as admitted or rejected, and returns whether it was admitted. */
+    private static boolean timed(SumServices sumServices, int[] input, Latencies latencies) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            sumServices.computeSum(requestOf(input));
+        } catch (SumOverloadedException e) {
+            latencies.rejected.add(System.nanoTime() - start);
+            // A well-behaved client backs off instead of retrying in a tight loop
+            Thread.sleep(DATABASE_LATENCY_MS);
+            return false;
+        }
+        latencies.admitted.add(System.nanoTime() - start);
+        return true;
+    }
+
+    private static long p99(List<Long> latencies) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        latencies.sort(null);
+        return latencies.get((int) (latencies.size() * 0.99));
+    }
+
+    private static SumRequest requestOf(int... numbers) {
+        SumRequest request = new SumRequest();
+        request.setNumbers(Arrays.stream(numbers).boxed().toList());
+        return request;
+    }
+
+    private static final class Latencies {
+        final List<Long> admitted = new ArrayList<>(REQUESTS_PER_CLIENT * 2);
+        final List<Long> rejected = new ArrayList<>();
+    }
+
+    private record Result(long admittedP99Micros, long rejectedP99Micros, int rejected, int rejectedHits) {
+
+        @Override
+        public String toString() {
+            return "admitted p99 " + admittedP99Micros / 1000 + " ms, " + rejected + " rejected with p99 "
+                    + rejectedP99Micros + " us, " + rejectedHits + " hits rejected";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.assignment_anulom.performance;
+
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each shard is an embedded H2 database behind a small pool whose statements take a fixed
+ * round trip, so a shard serves a bounded number of statements per second, as a real database
+ * server would. Spreading the same load over more shards should raise throughput accordingly.
+ */
+@DisplayName("Sharded Throughput Tests")
+class ShardedThroughputTest {
+
+    private static final int OPERATIONS = 800;
+    private static final int CLIENTS = 32;
+    private static final int CONNECTIONS_PER_SHARD = 2;
+    private static final long STATEMENT_LATENCY_MS = 5;
+
+    @Test
+    @DisplayName("Writes and reads should scale with the number of shards")
+    void shouldScaleThroughputWithShards() throws Exception {
+        Throughput one = measure(1);
+        Throughput four = measure(4);
+
+        System.out.println("1 shard:  " + one);
+        System.out.println("4 shards: " + four);
+
+        assertTrue(four.writes() > one.writes() * 2, "Writes should scale. 1 shard: " + one + ", 4 shards: " + four);
+        assertTrue(four.reads() > one.reads() * 2, "Reads should scale. 1 shard: " + one + ", 4 shards: " + four);
+    }
+
+    private Throughput measure(int shardCount) throws Exception {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            dataSources.add(slowShard("throughput-" + shardCount + "-" + i));
+        }
+        try (SumShards shards = SumShards.of(dataSources, shardCount)) {
+            shards.initializeSchema();
+            SumJdbcRepository repository = new SumJdbcRepository();
+            ReflectionTestUtils.setField(repository, "sumShards", shards);
+
+            double writes = run(i -> repository.upsert(row(i)));
+            double reads = run(i -> assertTrue(repository.findByInputHash(hash(i)).isPresent()));
+            return new Throughput(writes, reads);
+        }
+    }
+
+    /** Operations per second with {@link #CLIENTS} concurrent callers. */
+    private static double run(Operation operation) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> futures = new ArrayList<>(OPERATIONS);
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> operation.run(index)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return OPERATIONS / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static DataSource slowShard(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL");
+        HikariDataSource pool = new HikariDataSource();
+        pool.setDataSource(delayed(DataSource.class, h2));
+        pool.setMaximumPoolSize(CONNECTIONS_PER_SHARD);
+        return pool;
+    }
+
+    /** Wraps a datasource so that every statement executed through it first waits out the round trip. */
+    @SuppressWarnings("unchecked")
+    private static <T> T delayed(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(STATEMENT_LATENCY_MS);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return delayed(Connection.class, connection);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return delayed(PreparedStatement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static SumEntity row(int i) {
+        SumEntity row = new SumEntity();
+        row.setInputHash(hash(i));
+        row.setInputData(InputCodec.encode(new int[]{i}, 1));
+        row.setResult(i);
+        return row;
+    }
+
+    private static byte[] hash(int i) {
+        return InputHasher.hash(HashKey.NONE, new int[]{i}, 0, 1).toBytes();
+    }
+
+    private interface Operation {
+        void run(int index);
+    }
+
+    private record Throughput(double writes, double reads) {
+
+        @Override
+        public String toString() {
+            return Math.round(writes) + " writes/s, " + Math.round(reads) + " reads/s";
+        }
+    }
+}
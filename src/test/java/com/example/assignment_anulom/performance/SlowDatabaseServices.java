@@ -0,0 +1,64 @@
+package com.example.assignment_anulom.performance;
+
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.cache.LocalSumCacheBus;
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.metrics.SumMetrics;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.services.AdaptiveConcurrencyLimiter;
+import com.example.assignment_anulom.services.DatabaseCallLimiter;
+import com.example.assignment_anulom.services.SumAccessTracker;
+import com.example.assignment_anulom.services.SumServices;
+import com.example.assignment_anulom.services.SumWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+/**
+ * {@link SumServices} wired by hand, without Spring, over a database whose every lookup takes
+ * a fixed time and finds nothing, so each cache miss costs one blocking round trip.
+ */
+final class SlowDatabaseServices {
+
+    private SlowDatabaseServices() {
+    }
+
+    static SumServices create(SumProperties properties, DatabaseCallLimiter databaseCallLimiter,
+                              long databaseLatencyMs, int cacheEntries) {
+        SumServices sumServices = new SumServices();
+        ReflectionTestUtils.setField(sumServices, "sumJdbcRepository", slowRepository(databaseLatencyMs));
+        ReflectionTestUtils.setField(sumServices, "sumResultCache", new TieredSumCache(
+                new BoundedLruCache<>(cacheEntries, Long.MAX_VALUE, (key, result) -> 1), null, new LocalSumCacheBus()));
+        ReflectionTestUtils.setField(sumServices, "sumProperties", properties);
+        ReflectionTestUtils.setField(sumServices, "hashKey", HashKey.NONE);
+        ReflectionTestUtils.setField(sumServices, "sumWriteBehind", new SumWriteBehind());
+        ReflectionTestUtils.setField(sumServices, "sumAccessTracker", new SumAccessTracker());
+        ReflectionTestUtils.setField(sumServices, "databaseCallLimiter", databaseCallLimiter);
+        ReflectionTestUtils.setField(sumServices, "adaptiveConcurrencyLimiter", new AdaptiveConcurrencyLimiter(properties));
+        ReflectionTestUtils.setField(sumServices, "sumMetrics", new SumMetrics(new SimpleMeterRegistry()));
+        return sumServices;
+    }
+
+    // Hand-rolled stub: Mockito answers run under a monitor, which would pin virtual threads
+    private static SumJdbcRepository slowRepository(long latencyMs) {
+        return new SumJdbcRepository() {
+            @Override
+            public Optional<SumEntity> findByInputHash(byte[] inputHash) {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.empty();
+            }
+
+            @Override
+            public void upsert(SumEntity entity) {
+            }
+        };
+    }
+}
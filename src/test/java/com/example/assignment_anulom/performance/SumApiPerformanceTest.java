@@ -1,6 +1,7 @@
 package com.example.assignment_anulom.performance;
 
 import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.services.SumServices;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -38,6 +40,9 @@ class SumApiPerformanceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SumServices sumServices;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -165,6 +170,7 @@ class SumApiPerformanceTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
         long firstRequestTime = System.currentTimeMillis() - firstRequestStart;
+        long hitsBefore = sumServices.cacheStats().hits();
 
         // Second request (should be faster due to caching)
         long secondRequestStart = System.currentTimeMillis();
@@ -174,6 +180,9 @@ class SumApiPerformanceTest {
                 .andExpect(status().isOk());
         long secondRequestTime = System.currentTimeMillis() - secondRequestStart;
 
+        // Second request must be answered by the in-memory cache, not the datasource
+        assertEquals(hitsBefore + 1, sumServices.cacheStats().hits());
+
         // Verify second request is faster (caching works)
         assertTrue(secondRequestTime <= firstRequestTime, 
                 "Second request should be faster or equal due to caching. First: " + firstRequestTime + "ms, Second: " + secondRequestTime + "ms");
@@ -290,4 +299,38 @@ class SumApiPerformanceTest {
         System.out.println("Response time for very large array (50000 elements): " + responseTime + "ms");
         System.out.println("Memory used: " + (memoryUsed / 1024 / 1024) + "MB");
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream very large array without materializing it")
+    void shouldStreamVeryLargeArrayWithBoundedMemory() throws Exception {
+        // Given
+        int count = 1_000_000;
+        StringBuilder body = new StringBuilder(count * 4).append("{\"numbers\": [");
+        for (int i = 0; i < count; i++) {
+            body.append(i == 0 ? "" : ",").append(i % 1000);
+        }
+        byte[] content = body.append("]}").toString().getBytes();
+
+        Runtime runtime = Runtime.getRuntime();
+        long initialMemory = runtime.totalMemory() - runtime.freeMemory();
+
+        // When
+        long startTime = System.currentTimeMillis();
+
+        mockMvc.perform(post("/api/sum/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(499500000));
+
+        long responseTime = System.currentTimeMillis() - startTime;
+        long memoryUsed = runtime.totalMemory() - runtime.freeMemory() - initialMemory;
+
+        // Then
+        assertTrue(responseTime < 10000, "Streaming response time should be less than 10000ms, but was: " + responseTime + "ms");
+        assertTrue(memoryUsed < 100 * 1024 * 1024, "Memory usage should be less than 100MB, but was: " + (memoryUsed / 1024 / 1024) + "MB");
+
+        System.out.println("Streaming response time (" + count + " elements): " + responseTime + "ms");
+        System.out.println("Memory used: " + (memoryUsed / 1024 / 1024) + "MB");
+    }
+}
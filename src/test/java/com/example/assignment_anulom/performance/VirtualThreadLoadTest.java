@@ -0,0 +1,81 @@
+package com.example.assignment_anulom.performance;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.services.DatabaseCallLimiter;
+import com.example.assignment_anulom.services.SumServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Virtual Thread Load Tests")
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 4000;
+    private static final int PLATFORM_POOL_SIZE = 100;
+    private static final int DATABASE_CONCURRENCY = 1000;
+    private static final long DATABASE_LATENCY_MS = 50;
+
+    private SumServices sumServices;
+    private DatabaseCallLimiter databaseCallLimiter;
+
+    @BeforeEach
+    void setUp() {
+        SumProperties properties = new SumProperties();
+        properties.getDbLimiter().setPermits(DATABASE_CONCURRENCY);
+        databaseCallLimiter = new DatabaseCallLimiter(properties);
+
+        sumServices = SlowDatabaseServices.create(properties, databaseCallLimiter, DATABASE_LATENCY_MS, REQUESTS * 8);
+    }
+
+    @Test
+    @DisplayName("Virtual threads should outperform a bounded platform pool on blocking lookups")
+    void shouldIncreaseThroughputWithVirtualThreads() throws Exception {
+        // Warm up the request path so the comparison measures blocking capacity, not JIT
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(executor, -REQUESTS);
+        }
+
+        double platformThroughput;
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE)) {
+            platformThroughput = run(executor, 0);
+        }
+
+        double virtualThroughput;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtualThroughput = run(executor, REQUESTS);
+        }
+
+        System.out.println("Platform pool (" + PLATFORM_POOL_SIZE + " threads): " + Math.round(platformThroughput) + " req/s");
+        System.out.println("Virtual threads: " + Math.round(virtualThroughput) + " req/s");
+
+        assertTrue(virtualThroughput > platformThroughput * 2,
+                "Virtual threads should at least double throughput. Platform: " + platformThroughput
+                        + " req/s, Virtual: " + virtualThroughput + " req/s");
+        assertEquals(DATABASE_CONCURRENCY, databaseCallLimiter.availablePermits());
+    }
+
+    private double run(ExecutorService executor, int inputOffset) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            SumRequest request = new SumRequest();
+            request.setNumbers(Arrays.asList(inputOffset + i, 1));
+            futures.add(executor.submit(() -> sumServices.computeSum(request)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        return REQUESTS / elapsedSeconds;
+    }
+}
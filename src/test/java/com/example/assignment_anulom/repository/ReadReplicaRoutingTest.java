@@ -0,0 +1,231 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replicas are H2 stand-ins: pools on the primary's own in-memory database act as replicas
+ * with no lag, a separate database as one that has stopped replicating. Every stand-in counts
+ * the statements it executes, in place of the CPU time a real server would spend on them.
+ */
+@DisplayName("Read Replica Routing Tests")
+class ReadReplicaRoutingTest {
+
+    private static final int ROWS = 400;
+    private static final long STATEMENT_LATENCY_MS = 1;
+    private static final Duration READ_YOUR_WRITES = Duration.ofMillis(200);
+
+    private final List<StandIn> standIns = new ArrayList<>();
+    private StandIn primary;
+
+    @BeforeEach
+    void setUp() {
+        primary = standIn("primary-" + System.nanoTime());
+        new ResourceDatabasePopulator(new ClassPathResource("db/sum-shard-schema.sql")).execute(primary.pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        standIns.forEach(standIn -> standIn.pool.close());
+    }
+
+    @Test
+    void shouldMoveLookupsOffThePrimaryWithoutSlowingThem() throws InterruptedException {
+        SumJdbcRepository primaryOnly = repository(SumShards.single(new JdbcTemplate(primary.pool)));
+        primaryOnly.batchInsert(rows());
+        StandIn first = standIn(primary.database);
+        StandIn second = standIn(primary.database);
+        SumShards shards = SumShards.single(new JdbcTemplate(primary.pool), List.of(first.pool, second.pool), READ_YOUR_WRITES);
+        SumJdbcRepository replicated = repository(shards);
+
+        // Warm both paths so the comparison measures routing, not JIT compilation
+        lookUpAll(primaryOnly);
+        lookUpAll(replicated);
+
+        long primaryBefore = primary.statements.sum();
+        long[] withoutReplicas = lookUpAll(primaryOnly);
+        long primaryWithoutReplicas = primary.statements.sum() - primaryBefore;
+
+        primaryBefore = primary.statements.sum();
+        long[] withReplicas = lookUpAll(replicated);
+        long primaryWithReplicas = primary.statements.sum() - primaryBefore;
+
+        System.out.println("Primary statements per " + ROWS + " lookups: " + primaryWithoutReplicas
+                + " without replicas, " + primaryWithReplicas + " with");
+        System.out.println("Lookup p50/p99: " + micros(withoutReplicas) + " without replicas, " + micros(withReplicas) + " with");
+
+        assertEquals(ROWS, primaryWithoutReplicas);
+        assertEquals(0, primaryWithReplicas);
+        assertEquals(first.statements.sum(), second.statements.sum(), ROWS * 0.1);
+        assertTrue(percentile(withReplicas, 0.5) < percentile(withoutReplicas, 0.5) * 1.5 + 500_000,
+                "Lookup latency should stay flat: " + micros(withoutReplicas) + " without replicas, " + micros(withReplicas) + " with");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromThePrimary() throws InterruptedException {
+        StandIn stale = standIn("stale-" + System.nanoTime());
+        new ResourceDatabasePopulator(new ClassPathResource("db/sum-shard-schema.sql")).execute(stale.pool);
+        SumShards shards = SumShards.single(new JdbcTemplate(primary.pool), List.of(stale.pool), READ_YOUR_WRITES);
+        SumJdbcRepository repository = repository(shards);
+        SumEntity row = rows().get(0);
+
+        repository.upsert(row);
+
+        assertTrue(repository.findByInputHash(row.getInputHash()).isPresent());
+        assertEquals(1, shards.primaryReads());
+
+        // Past the window the lookup goes to the replica, which never received the row
+        Thread.sleep(READ_YOUR_WRITES.toMillis() * 2 + 50);
+        assertTrue(repository.findByInputHash(row.getInputHash()).isEmpty());
+        assertEquals(1, shards.replicaReads());
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryWhileAReplicaIsDown() {
+        StandIn healthy = standIn(primary.database);
+        StandIn failing = standIn(primary.database);
+        SumShards shards = SumShards.single(new JdbcTemplate(primary.pool), List.of(healthy.pool, failing.pool), Duration.ZERO);
+        SumJdbcRepository repository = repository(shards);
+        List<SumEntity> rows = rows().subList(0, 20);
+        repository.batchInsert(rows);
+
+        failing.down = true;
+        lookUpAll(repository, rows);
+
+        assertEquals(1, shards.healthyReplicas());
+        assertEquals(0, failing.statements.sum());
+        shards.checkReplicas(Duration.ofSeconds(1));
+        assertEquals(1, shards.healthyReplicas());
+
+        failing.down = false;
+        shards.checkReplicas(Duration.ofSeconds(1));
+        assertEquals(2, shards.healthyReplicas());
+        lookUpAll(repository, rows);
+        assertEquals(rows.size() / 2, failing.statements.sum());
+    }
+
+    private long[] lookUpAll(SumJdbcRepository repository) {
+        return lookUpAll(repository, rows());
+    }
+
+    /** Latency of each lookup in nanos. */
+    private static long[] lookUpAll(SumJdbcRepository repository, List<SumEntity> rows) {
+        long[] latencies = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            long start = System.nanoTime();
+            Optional<SumEntity> found = repository.findByInputHash(rows.get(i).getInputHash());
+            latencies[i] = System.nanoTime() - start;
+            assertEquals(rows.get(i).getResult(), found.orElseThrow().getResult());
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] latencies, double percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    private static String micros(long[] latencies) {
+        return percentile(latencies, 0.5) / 1000 + "/" + percentile(latencies, 0.99) / 1000 + " us";
+    }
+
+    private static SumJdbcRepository repository(SumShards shards) {
+        SumJdbcRepository repository = new SumJdbcRepository();
+        ReflectionTestUtils.setField(repository, "sumShards", shards);
+        return repository;
+    }
+
+    private static List<SumEntity> rows() {
+        List<SumEntity> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            SumEntity row = new SumEntity();
+            row.setInputHash(InputHasher.hash(HashKey.NONE, new int[]{i}, 0, 1).toBytes());
+            row.setInputData(InputCodec.encode(new int[]{i}, 1));
+            row.setResult(i);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private StandIn standIn(String database) {
+        StandIn standIn = new StandIn(database);
+        standIns.add(standIn);
+        return standIn;
+    }
+
+    /** A pool on an in-memory H2 database whose statements take a fixed round trip and are counted. */
+    private static final class StandIn {
+
+        private final String database;
+        private final HikariDataSource pool = new HikariDataSource();
+        private final LongAdder statements = new LongAdder();
+        private volatile boolean down;
+
+        private StandIn(String database) {
+            this.database = database;
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:" + database + ";MODE=MySQL");
+            pool.setDataSource(wrap(DataSource.class, h2));
+            pool.setMaximumPoolSize(2);
+            pool.setConnectionTimeout(250);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T wrap(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (down && (name.equals("getConnection") || name.startsWith("execute"))) {
+                    throw new SQLException("Stand-in " + database + " is down", "08001");
+                }
+                if (down && name.equals("isValid")) {
+                    return false;
+                }
+                if (name.startsWith("execute")) {
+                    statements.increment();
+                    Thread.sleep(STATEMENT_LATENCY_MS);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return wrap(Connection.class, connection);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return wrap(PreparedStatement.class, statement);
+                }
+                return result;
+            });
+        }
+    }
+}
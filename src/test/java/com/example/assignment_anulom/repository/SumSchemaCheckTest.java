@@ -0,0 +1,52 @@
+package com.example.assignment_anulom.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sum Schema Check Tests")
+class SumSchemaCheckTest {
+
+    @Test
+    void shouldAcceptTheCurrentSchema() {
+        JdbcTemplate shard = database("current");
+        new ResourceDatabasePopulator(new ClassPathResource("db/sum-shard-schema.sql")).execute(shard.getDataSource());
+
+        assertDoesNotThrow(() -> SumSchemaCheck.verify(SumShards.single(shard)));
+    }
+
+    @Test
+    void shouldRejectATableFromBeforeResultsWereWidened() {
+        JdbcTemplate shard = database("original");
+        // As the first release created it, then extended by ddl-auto=update
+        shard.execute("CREATE TABLE sum_data (id BIGINT AUTO_INCREMENT PRIMARY KEY, input_numbers VARCHAR(1000) UNIQUE, result INT NOT NULL)");
+        shard.execute("ALTER TABLE sum_data ADD COLUMN input_hash VARBINARY(16)");
+        shard.execute("ALTER TABLE sum_data ADD COLUMN input_data BLOB");
+        shard.execute("ALTER TABLE sum_data ADD COLUMN parent_id BIGINT");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> SumSchemaCheck.verify(SumShards.single(shard)));
+
+        assertTrue(e.getMessage().contains("MODIFY result BIGINT NOT NULL"), e.getMessage());
+        assertTrue(e.getMessage().contains("ADD COLUMN hit_count"), e.getMessage());
+        assertFalse(e.getMessage().contains("input_data"), e.getMessage());
+    }
+
+    @Test
+    void shouldRejectAMissingTable() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> SumSchemaCheck.verify(SumShards.single(database("empty"))));
+
+        assertTrue(e.getMessage().contains("sum_data does not exist"), e.getMessage());
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:schema-check-" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        return new JdbcTemplate(h2);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.assignment_anulom.repository;
+
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sum Shards Tests")
+class SumShardsTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void shouldSpreadKeysEvenly() {
+        int[] counts = new int[8];
+        for (int i = 0; i < KEYS; i++) {
+            counts[SumShards.jump(key(i), counts.length)]++;
+        }
+        for (int count : counts) {
+            assertEquals(KEYS / counts.length, count, KEYS / counts.length * 0.05);
+        }
+    }
+
+    @Test
+    void shouldOnlyMoveKeysOntoAnAddedShard() {
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            int before = SumShards.jump(key(i), 4);
+            int after = SumShards.jump(key(i), 5);
+            if (after != before) {
+                assertEquals(4, after);
+                moved++;
+            }
+        }
+        assertEquals(KEYS / 5, moved, KEYS / 5 * 0.05);
+    }
+
+    @Test
+    void shouldKeepKeysOfRemainingShardsWhenShrinking() {
+        for (int i = 0; i < KEYS; i++) {
+            int before = SumShards.jump(key(i), 5);
+            if (before < 3) {
+                assertEquals(before, SumShards.jump(key(i), 3));
+            }
+        }
+    }
+
+    @Test
+    void shouldPlaceEveryKeyOnTheOnlyShard() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, SumShards.jump(key(i), 1));
+        }
+    }
+
+    private static long key(int i) {
+        return InputHasher.hash(HashKey.NONE, new int[]{i}, 0, 1).lo();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+    private final SumProperties sumProperties = new SumProperties();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        SumProperties.ConcurrencyLimit config = sumProperties.getConcurrencyLimit();
+        config.setEnabled(true);
+        config.setInitialLimit(20);
+        config.setMinLimit(4);
+        config.setMaxLimit(100);
+        limiter = new AdaptiveConcurrencyLimiter(sumProperties);
+    }
+
+    @Test
+    void shouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+        for (int i = 0; i < 200; i++) {
+            limiter.sample(FAST, limiter.limit());
+        }
+        int grown = limiter.limit();
+        assertEquals(100, grown);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.sample(SLOW, limiter.limit());
+        }
+        assertTrue(limiter.limit() < grown / 4, "Limit should back off, was " + limiter.limit());
+    }
+
+    @Test
+    void shouldNotGrowAnUnusedLimit() {
+        for (int i = 0; i < 200; i++) {
+            limiter.sample(FAST, 1);
+        }
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    void shouldRejectCallsBeyondTheLimitRightAway() throws Exception {
+        sumProperties.getConcurrencyLimit().setInitialLimit(4);
+        sumProperties.getConcurrencyLimit().setRetryAfter(Duration.ofSeconds(3));
+        limiter = new AdaptiveConcurrencyLimiter(sumProperties);
+        CountDownLatch admitted = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> limiter.call(() -> {
+                    admitted.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }));
+            }
+            admitted.await();
+
+            long start = System.nanoTime();
+            SumOverloadedException rejection = assertThrows(SumOverloadedException.class, () -> limiter.call(() -> 1));
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(50).toNanos());
+            assertEquals(Duration.ofSeconds(3), rejection.getRetryAfter());
+            assertEquals(1, limiter.rejected());
+            release.countDown();
+        }
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1, limiter.call(() -> 1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Database Call Limiter Tests")
+class DatabaseCallLimiterTest {
+
+    @Test
+    void shouldNeverExceedConfiguredConcurrency() throws Exception {
+        DatabaseCallLimiter limiter = limiter(3, Duration.ofSeconds(5));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> limiter.run(() -> {
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    active.decrementAndGet();
+                }));
+            }
+        }
+
+        assertTrue(peak.get() <= 3, "Peak concurrency should be at most 3 but was " + peak.get());
+        assertEquals(3, limiter.availablePermits());
+    }
+
+    @Test
+    void shouldFailFastWhenNoPermitFreesUpInTime() throws Exception {
+        DatabaseCallLimiter limiter = limiter(1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> limiter.run(() -> {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            holding.await();
+
+            assertThrows(DataAccessResourceFailureException.class, () -> limiter.call(() -> 1));
+
+            release.countDown();
+            holder.get();
+        }
+        assertEquals(1, limiter.call(() -> 1));
+    }
+
+    private static DatabaseCallLimiter limiter(int permits, Duration timeout) {
+        SumProperties properties = new SumProperties();
+        properties.getDbLimiter().setPermits(permits);
+        properties.getDbLimiter().setAcquireTimeout(timeout);
+        return new DatabaseCallLimiter(properties);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.codec.PrefixSums;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.PrefixSumEntity;
+import com.example.assignment_anulom.model.PrefixIndexResponse;
+import com.example.assignment_anulom.model.SumRequest;
+import com.example.assignment_anulom.repository.PrefixSumRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Prefix Sum Services Tests")
+class PrefixSumServicesTest {
+
+    @Mock
+    private PrefixSumRepository prefixSumRepository;
+
+    @Spy
+    private BoundedLruCache<Long, long[]> prefixSumCache = new BoundedLruCache<>(100, 1024 * 1024, (id, sums) -> 1);
+
+    @Spy
+    private SumProperties sumProperties = new SumProperties();
+
+    @Spy
+    private DatabaseCallLimiter databaseCallLimiter = new DatabaseCallLimiter(new SumProperties());
+
+    @Spy
+    private HashKey hashKey = HashKey.NONE;
+
+    @InjectMocks
+    private PrefixSumServices prefixSumServices;
+
+    @Test
+    void shouldRegisterListAndAnswerRangesWithoutReadingItBack() {
+        when(prefixSumRepository.findByInputHash(hashOf(5, -2, 7, 10))).thenReturn(Optional.empty());
+        when(prefixSumRepository.save(any(PrefixSumEntity.class))).thenAnswer(invocation -> {
+            PrefixSumEntity entity = invocation.getArgument(0);
+            entity.setId(41L);
+            return entity;
+        });
+
+        PrefixIndexResponse registered = prefixSumServices.register(requestOf(5, -2, 7, 10));
+
+        assertEquals(41L, registered.getId());
+        assertEquals(4, registered.getLength());
+        assertEquals(20, prefixSumServices.rangeSum(41L, 0, 3).orElseThrow().getResult());
+        assertEquals(5, prefixSumServices.rangeSum(41L, 1, 2).orElseThrow().getResult());
+        assertEquals(10, prefixSumServices.rangeSum(41L, 3, 3).orElseThrow().getResult());
+        verify(prefixSumRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldReturnExistingIndexForSameList() {
+        PrefixSumEntity stored = new PrefixSumEntity(7L, null, 3, PrefixSums.encode(new long[]{0, 1, 3, 6}));
+        when(prefixSumRepository.findByInputHash(hashOf(1, 2, 3))).thenReturn(Optional.of(stored));
+
+        PrefixIndexResponse registered = prefixSumServices.register(requestOf(1, 2, 3));
+
+        assertEquals(7L, registered.getId());
+        verify(prefixSumRepository, never()).save(any(PrefixSumEntity.class));
+    }
+
+    @Test
+    void shouldStoreCollidingListWithoutKey() {
+        PrefixSumEntity other = new PrefixSumEntity(7L, null, 1, PrefixSums.encode(new long[]{0, 99}));
+        when(prefixSumRepository.findByInputHash(hashOf(1, 2, 3))).thenReturn(Optional.of(other));
+        when(prefixSumRepository.save(any(PrefixSumEntity.class))).thenAnswer(invocation -> {
+            PrefixSumEntity entity = invocation.getArgument(0);
+            entity.setId(8L);
+            return entity;
+        });
+
+        assertEquals(8L, prefixSumServices.register(requestOf(1, 2, 3)).getId());
+
+        ArgumentCaptor<PrefixSumEntity> saved = ArgumentCaptor.forClass(PrefixSumEntity.class);
+        verify(prefixSumRepository).save(saved.capture());
+        assertNull(saved.getValue().getInputHash());
+    }
+
+    @Test
+    void shouldLoadIndexOnCacheMissAndRejectOutOfRangeQueries() {
+        PrefixSumEntity stored = new PrefixSumEntity(3L, null, 2, PrefixSums.encode(new long[]{0, 4, 9}));
+        when(prefixSumRepository.findById(3L)).thenReturn(Optional.of(stored));
+        when(prefixSumRepository.findById(4L)).thenReturn(Optional.empty());
+
+        assertEquals(9, prefixSumServices.rangeSum(3L, 0, 1).orElseThrow().getResult());
+        assertThrows(IllegalArgumentException.class, () -> prefixSumServices.rangeSum(3L, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> prefixSumServices.rangeSum(3L, 1, 0));
+        assertTrue(prefixSumServices.rangeSum(4L, 0, 0).isEmpty());
+        verify(prefixSumRepository, times(1)).findById(3L);
+    }
+
+    private static SumRequest requestOf(Integer... numbers) {
+        SumRequest request = new SumRequest();
+        request.setNumbers(Arrays.asList(numbers));
+        return request;
+    }
+
+    private static byte[] hashOf(int... numbers) {
+        return aryEq(InputHasher.hash(HashKey.NONE, numbers, 0, numbers.length).toBytes());
+    }
+}
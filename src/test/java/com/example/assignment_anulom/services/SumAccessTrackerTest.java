@@ -0,0 +1,106 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumKey;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sum Access Tracker Tests")
+class SumAccessTrackerTest {
+
+    @Mock
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Spy
+    private SumProperties sumProperties = new SumProperties();
+
+    @Spy
+    private DatabaseCallLimiter databaseCallLimiter = new DatabaseCallLimiter(new SumProperties());
+
+    @InjectMocks
+    private SumAccessTracker sumAccessTracker;
+
+    @BeforeEach
+    void setUp() {
+        SumProperties.Retention config = sumProperties.getRetention();
+        config.setEnabled(true);
+        config.setChunkSize(2);
+        config.setMaxTrackedKeys(3);
+        // Long interval so the tests drive flushing explicitly
+        config.setFlushInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sumAccessTracker.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteAggregatedHitsInChunks() {
+        sumAccessTracker.start();
+        for (int i = 0; i < 5; i++) {
+            sumAccessTracker.record(new SumKey(1, 1));
+        }
+        sumAccessTracker.record(new SumKey(2, 2));
+        sumAccessTracker.record(new SumKey(3, 3));
+        verify(sumJdbcRepository, never()).recordAccesses(anyMap(), anyLong());
+
+        sumAccessTracker.flush();
+
+        ArgumentCaptor<Map<SumKey, Long>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(sumJdbcRepository, times(2)).recordAccesses(batches.capture(), anyLong());
+        Map<SumKey, Long> written = new HashMap<>();
+        batches.getAllValues().forEach(written::putAll);
+        assertEquals(Map.of(new SumKey(1, 1), 5L, new SumKey(2, 2), 1L, new SumKey(3, 3), 1L), written);
+        assertEquals(0, sumAccessTracker.tracked());
+    }
+
+    @Test
+    void shouldStopTrackingNewKeysAtTheLimitUntilFlushed() {
+        sumAccessTracker.start();
+        for (int i = 0; i < 4; i++) {
+            sumAccessTracker.record(new SumKey(i, i));
+        }
+        // Keys already tracked keep counting
+        sumAccessTracker.record(new SumKey(0, 0));
+
+        assertEquals(3, sumAccessTracker.tracked());
+        assertEquals(1, sumAccessTracker.untracked());
+
+        sumAccessTracker.flush();
+        sumAccessTracker.record(new SumKey(3, 3));
+        assertEquals(1, sumAccessTracker.tracked());
+    }
+
+    @Test
+    void shouldDoNothingWhenRetentionIsDisabled() {
+        sumProperties.getRetention().setEnabled(false);
+        sumAccessTracker.start();
+
+        sumAccessTracker.record(new SumKey(1, 1));
+        sumAccessTracker.flush();
+
+        assertEquals(0, sumAccessTracker.tracked());
+        verifyNoInteractions(sumJdbcRepository);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.cache.LocalSumCacheBus;
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.model.SumKey;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumJdbcRepository.StoredResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sum Cache Warmer Tests")
+class SumCacheWarmerTest {
+
+    @Mock
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Spy
+    private SumProperties sumProperties = new SumProperties();
+
+    @Spy
+    private TieredSumCache sumResultCache = newCache();
+
+    @Spy
+    private HashKey hashKey = HashKey.of("secret");
+
+    @InjectMocks
+    private SumCacheWarmer sumCacheWarmer;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sumCacheWarmer.stop();
+    }
+
+    @Test
+    void shouldRestoreSnapshotWrittenByPreviousInstance() throws Exception {
+        Path file = dir.resolve("cache.snapshot");
+        sumProperties.getSnapshot().setFile(file);
+        SumKey key = new SumKey(7, 8);
+        sumResultCache.put(key, 15);
+        sumCacheWarmer.snapshot();
+
+        // A fresh instance starting from the file alone
+        TieredSumCache restarted = newCache();
+        SumCacheWarmer warmer = new SumCacheWarmer();
+        ReflectionTestUtils.setField(warmer, "sumResultCache", restarted);
+        ReflectionTestUtils.setField(warmer, "sumJdbcRepository", sumJdbcRepository);
+        ReflectionTestUtils.setField(warmer, "sumProperties", sumProperties);
+        ReflectionTestUtils.setField(warmer, "hashKey", HashKey.of("secret"));
+        warmer.run(new DefaultApplicationArguments());
+        warmer.stop();
+
+        assertTrue(Files.exists(file));
+        assertEquals(15, restarted.get(key));
+        verifyNoInteractions(sumJdbcRepository);
+    }
+
+    @Test
+    void shouldPreloadMostHitRowsAcrossShardsWithoutPublishing() {
+        sumProperties.getSnapshot().setPreloadRows(2);
+        when(sumJdbcRepository.shardCount()).thenReturn(2);
+        when(sumJdbcRepository.findHottest(0, 2)).thenReturn(List.of(
+                new StoredResult(new SumKey(1, 2), 3L, 50), new StoredResult(new SumKey(5, 6), 11L, 1)));
+        when(sumJdbcRepository.findHottest(1, 2)).thenReturn(List.of(new StoredResult(new SumKey(3, 4), 7L, 9)));
+
+        sumCacheWarmer.run(new DefaultApplicationArguments());
+
+        assertEquals(3, sumResultCache.get(new SumKey(1, 2)));
+        assertEquals(7, sumResultCache.get(new SumKey(3, 4)));
+        assertNull(sumResultCache.get(new SumKey(5, 6)));
+        assertEquals(2, sumResultCache.stats().size());
+        verify(sumResultCache, never()).put(any(), anyLong());
+    }
+
+    @Test
+    void shouldIgnoreCorruptSnapshot() throws Exception {
+        Path file = dir.resolve("cache.snapshot");
+        Files.write(file, new byte[] {1, 2, 3});
+        sumProperties.getSnapshot().setFile(file);
+
+        assertDoesNotThrow(() -> sumCacheWarmer.run(new DefaultApplicationArguments()));
+        assertEquals(0, sumResultCache.stats().size());
+    }
+
+    @Test
+    void shouldDiscardSnapshotWrittenUnderAnotherSecret() throws Exception {
+        Path file = dir.resolve("cache.snapshot");
+        sumProperties.getSnapshot().setFile(file);
+        sumResultCache.put(new SumKey(7, 8), 15);
+        sumCacheWarmer.snapshot();
+
+        TieredSumCache restarted = newCache();
+        SumCacheWarmer warmer = new SumCacheWarmer();
+        ReflectionTestUtils.setField(warmer, "sumResultCache", restarted);
+        ReflectionTestUtils.setField(warmer, "sumJdbcRepository", sumJdbcRepository);
+        ReflectionTestUtils.setField(warmer, "sumProperties", sumProperties);
+        ReflectionTestUtils.setField(warmer, "hashKey", HashKey.of("rotated"));
+        warmer.run(new DefaultApplicationArguments());
+        warmer.stop();
+
+        assertEquals(0, restarted.stats().size());
+    }
+
+    private static TieredSumCache newCache() {
+        return new TieredSumCache(new BoundedLruCache<>(100, 1024 * 1024, (key, result) -> 1), null, new LocalSumCacheBus());
+    }
+}
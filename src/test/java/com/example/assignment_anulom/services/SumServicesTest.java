@@ -1,23 +1,47 @@
 package com.example.assignment_anulom.services;
 
+import com.example.assignment_anulom.cache.BoundedLruCache;
+import com.example.assignment_anulom.cache.LocalSumCacheBus;
+import com.example.assignment_anulom.cache.SumCache;
+import com.example.assignment_anulom.cache.TieredSumCache;
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.codec.KeyCanonicalization;
+import com.example.assignment_anulom.codec.MultisetHasher;
+import com.example.assignment_anulom.config.SumProperties;
 import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.metrics.SumMetrics;
+import com.example.assignment_anulom.model.AppendRequest;
+import com.example.assignment_anulom.model.AppendResponse;
+import com.example.assignment_anulom.model.SumKey;
 import com.example.assignment_anulom.model.SumRequest;
 import com.example.assignment_anulom.model.SumResponse;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
 import com.example.assignment_anulom.repository.SumRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +51,36 @@ class SumServicesTest {
     @Mock
     private SumRequestRepository sumRequestRepository;
 
+    @Mock
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Spy
+    private SumProperties sumProperties = new SumProperties();
+
+    @Spy
+    private HashKey hashKey = HashKey.NONE;
+
+    @Mock
+    private SumWriteBehind sumWriteBehind;
+
+    @Mock
+    private SumAccessTracker sumAccessTracker;
+
+    @Spy
+    private DatabaseCallLimiter databaseCallLimiter = new DatabaseCallLimiter(new SumProperties());
+
+    @Spy
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(new SumProperties());
+
+    @Spy
+    private SumCache sumResultCache = new TieredSumCache(
+            new BoundedLruCache<>(100, 1024 * 1024, (key, result) -> 1), null, new LocalSumCacheBus());
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SumMetrics sumMetrics = new SumMetrics(meterRegistry);
+
     @InjectMocks
     private SumServices sumServices;
 
@@ -40,8 +94,7 @@ class SumServicesTest {
     @Test
     void shouldCalculateSumSuccessfully() {
         sumRequest.setNumbers(Arrays.asList(1, 2, 3));
-        when(sumRequestRepository.findByInputNumbers("1,2,3")).thenReturn(Optional.empty());
-        when(sumRequestRepository.save(any(SumEntity.class))).thenReturn(new SumEntity());
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3))).thenReturn(Optional.empty());
 
         SumResponse response = sumServices.computeSum(sumRequest);
 
@@ -71,13 +124,256 @@ class SumServicesTest {
     void shouldReturnCachedResult() {
         sumRequest.setNumbers(Arrays.asList(1, 2, 3));
         SumEntity cachedEntity = new SumEntity();
+        cachedEntity.setInputNumbers("1,2,3");
         cachedEntity.setResult(6);
-        when(sumRequestRepository.findByInputNumbers("1,2,3")).thenReturn(Optional.of(cachedEntity));
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3))).thenReturn(Optional.of(cachedEntity));
 
         SumResponse response = sumServices.computeSum(sumRequest);
 
         assertNotNull(response);
         assertEquals(6, response.getResult());
+        verify(sumJdbcRepository, never()).upsert(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldServeRepeatedInputFromMemory() {
+        sumRequest.setNumbers(Arrays.asList(4, 5, 6));
+        when(sumJdbcRepository.findByInputHash(hashOf(4, 5, 6))).thenReturn(Optional.empty());
+
+        sumServices.computeSum(sumRequest);
+        SumResponse response = sumServices.computeSum(sumRequest);
+
+        assertEquals(15, response.getResult());
+        verify(sumJdbcRepository, times(1)).findByInputHash(hashOf(4, 5, 6));
+        assertEquals(1, sumServices.cacheStats().hits());
+    }
+
+    @Test
+    void shouldNotTrustHashMatchWithDifferentStoredInput() {
+        sumRequest.setNumbers(Arrays.asList(1, 2, 3));
+        SumEntity collidingEntity = new SumEntity();
+        collidingEntity.setInputNumbers("7,8");
+        collidingEntity.setResult(15);
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3))).thenReturn(Optional.of(collidingEntity));
+
+        SumResponse response = sumServices.computeSum(sumRequest);
+
+        assertEquals(6, response.getResult());
+        verify(sumJdbcRepository, never()).upsert(any(SumEntity.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResolveBatchWithOneLookupAndOneInsert() {
+        SumEntity stored = new SumEntity();
+        stored.setInputHash(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3).toBytes());
+        stored.setInputNumbers("1,2,3");
+        stored.setResult(6);
+        when(sumJdbcRepository.findAllByInputHash(anyCollection())).thenReturn(List.of(stored));
+
+        List<SumResponse> responses = sumServices.computeSums(List.of(
+                requestOf(1, 2, 3), requestOf(4, 5), requestOf(4, 5), requestOf(10)));
+
+        assertEquals(List.of(6L, 9L, 9L, 10L), responses.stream().map(SumResponse::getResult).toList());
+        verify(sumJdbcRepository, times(1)).findAllByInputHash(anyCollection());
+        verify(sumJdbcRepository, never()).findByInputHash(any());
+        ArgumentCaptor<List<SumEntity>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(sumJdbcRepository, times(1)).batchInsert(inserted.capture());
+        assertEquals(List.of(List.of(4, 5), List.of(10)), inserted.getValue().stream().map(entity -> InputCodec.decode(entity.getInputData())).toList());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        sumProperties.getBatch().setMaxRequests(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sumServices.computeSums(List.of(requestOf(1), requestOf(2))));
+        verify(sumJdbcRepository, never()).batchInsert(anyList());
+    }
+
+    @Test
+    void shouldQueueNewRowsWhenWriteBehindIsEnabled() {
+        sumRequest.setNumbers(Arrays.asList(7, 8));
+        when(sumWriteBehind.isEnabled()).thenReturn(true);
+        when(sumJdbcRepository.findByInputHash(hashOf(7, 8))).thenReturn(Optional.empty());
+
+        SumResponse response = sumServices.computeSum(sumRequest);
+
+        assertEquals(15, response.getResult());
+        verify(sumWriteBehind).submit(any(SumEntity.class));
+        verify(sumJdbcRepository, never()).upsert(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldStoreNewInputThroughJdbcUpsertOnly() {
+        sumRequest.setNumbers(Arrays.asList(2, 4));
+        when(sumJdbcRepository.findByInputHash(hashOf(2, 4))).thenReturn(Optional.empty());
+
+        SumResponse response = sumServices.computeSum(sumRequest);
+
+        assertEquals(6, response.getResult());
+        ArgumentCaptor<SumEntity> upserted = ArgumentCaptor.forClass(SumEntity.class);
+        verify(sumJdbcRepository).upsert(upserted.capture());
+        assertEquals(List.of(2, 4), InputCodec.decode(upserted.getValue().getInputData()));
+        assertEquals(6, upserted.getValue().getResult());
+        verifyNoInteractions(sumRequestRepository);
+    }
+
+    @Test
+    void shouldShareOneRowAcrossPermutationsInMultisetMode() {
+        sumProperties.getKey().setCanonicalization(KeyCanonicalization.MULTISET);
+        byte[] multisetHash = MultisetHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3).toBytes();
+        when(sumJdbcRepository.findByInputHash(aryEq(multisetHash))).thenReturn(Optional.empty());
+
+        SumResponse first = sumServices.computeSum(requestOf(3, 1, 2));
+        SumResponse second = sumServices.computeSum(requestOf(2, 3, 1));
+
+        assertEquals(6, first.getResult());
+        assertEquals(6, second.getResult());
+        ArgumentCaptor<SumEntity> saved = ArgumentCaptor.forClass(SumEntity.class);
+        verify(sumJdbcRepository, times(1)).upsert(saved.capture());
+        assertEquals(List.of(1, 2, 3), InputCodec.decode(saved.getValue().getInputData()));
+        assertEquals(1, sumResultCache.stats().hits());
+    }
+
+    @Test
+    void shouldAppendDeltaToStoredInput() {
+        SumEntity base = new SumEntity(10L, InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3).toBytes(), null, "1,2,3", 6, null, null, 0);
+        when(sumRequestRepository.findById(10L)).thenReturn(Optional.of(base));
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3, 4, 5))).thenReturn(Optional.empty());
+        when(sumRequestRepository.save(any(SumEntity.class))).thenAnswer(invocation -> {
+            SumEntity entity = invocation.getArgument(0);
+            entity.setId(11L);
+            return entity;
+        });
+        AppendRequest request = new AppendRequest();
+        request.setBaseId(10L);
+        request.setNumbers(Arrays.asList(4, 5));
+
+        AppendResponse response = sumServices.append(request).orElseThrow();
+
+        assertEquals(11L, response.getId());
+        assertEquals(15, response.getResult());
+        assertEquals(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3, 4, 5}, 0, 5).toHex(), response.getHash());
+        ArgumentCaptor<SumEntity> saved = ArgumentCaptor.forClass(SumEntity.class);
+        verify(sumRequestRepository).save(saved.capture());
+        assertEquals(List.of(4, 5), InputCodec.decode(saved.getValue().getInputData()));
+        assertEquals(10L, saved.getValue().getParentId());
+
+        // The full list is now a cache hit
+        assertEquals(15, sumServices.computeSum(requestOf(1, 2, 3, 4, 5)).getResult());
+        verify(sumJdbcRepository, times(1)).findByInputHash(any());
+    }
+
+    @Test
+    void shouldVerifyFullInputAgainstAppendedRowChain() {
+        SumEntity root = new SumEntity(10L, InputHasher.hash(HashKey.NONE, new int[]{1, 2}, 0, 2).toBytes(), null, "1,2", 3, null, null, 0);
+        SumEntity appended = new SumEntity(11L, InputHasher.hash(HashKey.NONE, new int[]{1, 2, 7}, 0, 3).toBytes(), null, "7", 10, 10L, null, 0);
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 7))).thenReturn(Optional.of(appended));
+        when(sumJdbcRepository.findParent(appended)).thenReturn(Optional.of(root));
+
+        SumResponse response = sumServices.computeSum(requestOf(1, 2, 7));
+
+        assertEquals(10, response.getResult());
+        verify(sumJdbcRepository, never()).upsert(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldNotReuseADifferentRowStoredUnderTheAppendedKey() {
+        SumEntity base = new SumEntity(10L, InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3).toBytes(), null, "1,2,3", 6, null, null, 0);
+        // A forged collision: stored under the key of 1,2,3,4,5 but holding other numbers
+        SumEntity other = new SumEntity(12L, InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3, 4, 5}, 0, 5).toBytes(), null, "9,9", 18, null, null, 0);
+        when(sumRequestRepository.findById(10L)).thenReturn(Optional.of(base));
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3, 4, 5))).thenReturn(Optional.of(other));
+        AppendRequest request = new AppendRequest();
+        request.setBaseId(10L);
+        request.setNumbers(Arrays.asList(4, 5));
+
+        assertThrows(AppendConflictException.class, () -> sumServices.append(request));
+        assertEquals(0, sumResultCache.stats().size());
         verify(sumRequestRepository, never()).save(any(SumEntity.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldRejectAppendingToABaseStoredBeforeHashing() {
+        SumEntity legacy = new SumEntity(10L, null, null, "1,2,3", 6, null, null, 0);
+        when(sumRequestRepository.findById(10L)).thenReturn(Optional.of(legacy));
+        AppendRequest request = new AppendRequest();
+        request.setBaseId(10L);
+        request.setNumbers(List.of(4));
+
+        assertThrows(InvalidAppendException.class, () -> sumServices.append(request));
+        verify(sumRequestRepository, never()).save(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldRejectAppendWhoseSumOverflows() {
+        SumEntity base = new SumEntity(10L, InputHasher.hash(HashKey.NONE, new int[]{1}, 0, 1).toBytes(), null, "1", Long.MAX_VALUE, null, null, 0);
+        when(sumRequestRepository.findById(10L)).thenReturn(Optional.of(base));
+        AppendRequest request = new AppendRequest();
+        request.setBaseId(10L);
+        request.setNumbers(List.of(1));
+
+        assertThrows(InvalidAppendException.class, () -> sumServices.append(request));
+        verify(sumRequestRepository, never()).save(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldReturnEmptyWhenAppendBaseIsUnknown() {
+        AppendRequest request = new AppendRequest();
+        request.setBaseHash(InputHasher.hash(HashKey.NONE, new int[]{42}, 0, 1).toHex());
+        request.setNumbers(List.of(1));
+        when(sumJdbcRepository.findByInputHash(hashOf(42))).thenReturn(Optional.empty());
+
+        assertTrue(sumServices.append(request).isEmpty());
+        verify(sumRequestRepository, never()).save(any(SumEntity.class));
+    }
+
+    @Test
+    void shouldServeCacheHitsWhileMissesAreShed() {
+        sumResultCache.put(InputHasher.hash(HashKey.NONE, new int[]{1, 2, 3}, 0, 3), 6L);
+        doThrow(new SumOverloadedException("Limit reached", Duration.ofSeconds(1)))
+                .when(adaptiveConcurrencyLimiter).call(any());
+
+        assertEquals(6, sumServices.computeSum(requestOf(1, 2, 3)).getResult());
+        assertThrows(SumOverloadedException.class, () -> sumServices.computeSum(requestOf(4, 5)));
+        verify(sumJdbcRepository, never()).findByInputHash(any());
+    }
+
+    @Test
+    void shouldRejectAppendWithShardedStorage() {
+        sumProperties.getSharding().getShards().add(new SumProperties.Shard());
+        AppendRequest request = new AppendRequest();
+        request.setBaseId(10L);
+        request.setNumbers(List.of(1));
+
+        assertThrows(AppendNotSupportedException.class, () -> sumServices.append(request));
+        verifyNoInteractions(sumRequestRepository);
+    }
+
+    @Test
+    void shouldRecordStageLatenciesAndInputSize() {
+        sumRequest.setNumbers(Arrays.asList(1, 2, 3, 4));
+        when(sumJdbcRepository.findByInputHash(hashOf(1, 2, 3, 4))).thenReturn(Optional.empty());
+
+        sumServices.computeSum(sumRequest);
+        sumServices.computeSum(sumRequest);
+
+        assertEquals(2, meterRegistry.get("sum.stage").tag("stage", "key").timer().count());
+        assertEquals(2, meterRegistry.get("sum.stage").tag("stage", "cache").timer().count());
+        // The repeat is a cache hit and never reaches the database
+        assertEquals(1, meterRegistry.get("sum.stage").tag("stage", "lookup").timer().count());
+        assertEquals(1, meterRegistry.get("sum.stage").tag("stage", "persist").timer().count());
+        assertEquals(8.0, meterRegistry.get("sum.input.size").summary().totalAmount());
+    }
+
+    private static SumRequest requestOf(Integer... numbers) {
+        SumRequest request = new SumRequest();
+        request.setNumbers(Arrays.asList(numbers));
+        return request;
+    }
+
+    private static byte[] hashOf(int... numbers) {
+        return aryEq(InputHasher.hash(HashKey.NONE, numbers, 0, numbers.length).toBytes());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.codec.HashKey;
+import com.example.assignment_anulom.codec.InputCodec;
+import com.example.assignment_anulom.codec.InputHasher;
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import com.example.assignment_anulom.repository.SumShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sum Shard Rebalancer Tests")
+class SumShardRebalancerTest {
+
+    private static final int ROWS = 600;
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final SumProperties sumProperties = new SumProperties();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:rebalance-" + i + "-" + System.nanoTime() + ";MODE=MySQL");
+            dataSource.setMaximumPoolSize(2);
+            dataSources.add(dataSource);
+        }
+        sumProperties.getSharding().setRebalanceChunkSize(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void shouldMoveAboutAThirdOfTheRowsOntoAnAddedShard() {
+        SumShards before = shards(2);
+        before.initializeSchema();
+        repository(before).batchInsert(rows());
+
+        SumShards after = shards(3);
+        long moved = rebalancer(after).rebalance();
+
+        assertEquals(ROWS / 3, moved, ROWS / 3 * 0.25);
+        assertEquals(moved, count(after, 2));
+        assertEquals(ROWS, count(after, 0) + count(after, 1) + count(after, 2));
+        assertAllReachable(after);
+        // Already in place
+        assertEquals(0, rebalancer(after).rebalance());
+    }
+
+    @Test
+    void shouldDrainShardsBeyondTheActiveOnes() {
+        SumShards before = shards(3);
+        before.initializeSchema();
+        repository(before).batchInsert(rows());
+        long onRetired = count(before, 2);
+
+        SumShards after = shards(2);
+        long moved = rebalancer(after).rebalance();
+
+        assertEquals(onRetired, moved);
+        assertEquals(0, count(after, 2));
+        assertEquals(ROWS, count(after, 0) + count(after, 1));
+        assertAllReachable(after);
+    }
+
+    @Test
+    void shouldKeepRowsOthersWereAppendedTo() {
+        SumShards before = shards(2);
+        before.initializeSchema();
+        repository(before).batchInsert(rows());
+        SumShards after = shards(3);
+        // A row moving to the new shard that an appended row on its old shard still refers to
+        SumEntity parent = rows().stream()
+                .filter(row -> after.indexOf(row.getInputHash()) == 2)
+                .findFirst().orElseThrow();
+        int oldShard = before.indexOf(parent.getInputHash());
+        long parentId = repository(before).findByInputHash(parent.getInputHash()).orElseThrow().getId();
+        before.get(oldShard).update("INSERT INTO sum_data (input_hash, input_data, result, parent_id, hit_count) VALUES (?, ?, ?, ?, 0)",
+                InputHasher.hash(HashKey.NONE, new int[]{-1, -2}, 0, 2).toBytes(), InputCodec.encode(new int[]{-2}, 1), -3, parentId);
+
+        rebalancer(after).rebalance();
+
+        SumJdbcRepository repository = repository(after);
+        assertTrue(repository.findByInputHash(parent.getInputHash()).isPresent());
+        assertEquals(1, after.get(oldShard).queryForObject("SELECT COUNT(*) FROM sum_data WHERE id = ?", Long.class, parentId));
+    }
+
+    private SumShards shards(int active) {
+        // Not closed through SumShards; the datasources are shared between layouts and closed in tearDown
+        return SumShards.of(dataSources, active);
+    }
+
+    private SumJdbcRepository repository(SumShards shards) {
+        SumJdbcRepository repository = new SumJdbcRepository();
+        ReflectionTestUtils.setField(repository, "sumShards", shards);
+        return repository;
+    }
+
+    private SumShardRebalancer rebalancer(SumShards shards) {
+        SumShardRebalancer rebalancer = new SumShardRebalancer();
+        ReflectionTestUtils.setField(rebalancer, "sumJdbcRepository", repository(shards));
+        ReflectionTestUtils.setField(rebalancer, "sumShards", shards);
+        ReflectionTestUtils.setField(rebalancer, "sumProperties", sumProperties);
+        ReflectionTestUtils.setField(rebalancer, "databaseCallLimiter", new DatabaseCallLimiter(sumProperties));
+        return rebalancer;
+    }
+
+    private void assertAllReachable(SumShards shards) {
+        SumJdbcRepository repository = repository(shards);
+        for (SumEntity row : rows()) {
+            SumEntity stored = repository.findByInputHash(row.getInputHash()).orElseThrow();
+            assertEquals(row.getResult(), stored.getResult());
+            assertEquals(List.of((int) row.getResult()), InputCodec.decode(stored.getInputData()));
+        }
+    }
+
+    private static long count(SumShards shards, int shard) {
+        return shards.get(shard).queryForObject("SELECT COUNT(*) FROM sum_data", Long.class);
+    }
+
+    private static List<SumEntity> rows() {
+        List<SumEntity> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            SumEntity row = new SumEntity();
+            row.setInputHash(InputHasher.hash(HashKey.NONE, new int[]{i}, 0, 1).toBytes());
+            row.setInputData(InputCodec.encode(new int[]{i}, 1));
+            row.setResult(i);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
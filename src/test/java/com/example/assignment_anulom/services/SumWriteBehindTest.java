@@ -0,0 +1,118 @@
+package com.example.assignment_anulom.services;
+
+import com.example.assignment_anulom.config.SumProperties;
+import com.example.assignment_anulom.entity.SumEntity;
+import com.example.assignment_anulom.repository.SumJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sum Write-Behind Tests")
+class SumWriteBehindTest {
+
+    @Mock
+    private SumJdbcRepository sumJdbcRepository;
+
+    @Spy
+    private SumProperties sumProperties = new SumProperties();
+
+    @Spy
+    private DatabaseCallLimiter databaseCallLimiter = new DatabaseCallLimiter(new SumProperties());
+
+    @Spy
+    private Environment environment = new MockEnvironment();
+
+    @InjectMocks
+    private SumWriteBehind sumWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        SumProperties.WriteBehind config = sumProperties.getWriteBehind();
+        config.setEnabled(true);
+        config.setQueueCapacity(4);
+        config.setBatchSize(2);
+        // Long interval so the tests drive flushing explicitly
+        config.setFlushInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sumWriteBehind.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteQueuedRowsInBatches() {
+        sumWriteBehind.start();
+        for (int i = 0; i < 3; i++) {
+            sumWriteBehind.submit(entity(i));
+        }
+        verify(sumJdbcRepository, never()).batchInsert(anyList());
+
+        sumWriteBehind.flush();
+
+        ArgumentCaptor<List<SumEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(sumJdbcRepository, times(2)).batchInsert(batches.capture());
+        assertEquals(0, sumWriteBehind.pending());
+        assertEquals(3, sumWriteBehind.written());
+    }
+
+    @Test
+    void shouldDropWhenQueueIsFullUnderDropPolicy() {
+        sumProperties.getWriteBehind().setOverflowPolicy(SumWriteBehind.OverflowPolicy.DROP);
+        sumWriteBehind.start();
+
+        for (int i = 0; i < 6; i++) {
+            sumWriteBehind.submit(entity(i));
+        }
+
+        assertEquals(4, sumWriteBehind.pending());
+        assertEquals(2, sumWriteBehind.dropped());
+        verify(sumJdbcRepository, never()).batchInsert(anyList());
+    }
+
+    @Test
+    void shouldWriteThroughWhenQueueIsFull() {
+        sumProperties.getWriteBehind().setOverflowPolicy(SumWriteBehind.OverflowPolicy.WRITE_THROUGH);
+        sumWriteBehind.start();
+
+        for (int i = 0; i < 5; i++) {
+            sumWriteBehind.submit(entity(i));
+        }
+
+        assertEquals(4, sumWriteBehind.pending());
+        verify(sumJdbcRepository, times(1)).batchInsert(anyList());
+    }
+
+    @Test
+    void shouldStayDisabledByDefault() {
+        sumProperties.getWriteBehind().setEnabled(false);
+        sumWriteBehind.start();
+
+        assertFalse(sumWriteBehind.isEnabled());
+    }
+
+    private static SumEntity entity(int value) {
+        SumEntity entity = new SumEntity();
+        entity.setInputNumbers(String.valueOf(value));
+        entity.setResult(value);
+        return entity;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.assignment_anulom.codec;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD sum using the incubating Vector API.
+ * <p>
+ * Widening every lane to long would halve the lanes per instruction, so each value is
+ * split into a signed high and an unsigned low 16-bit half that are accumulated in int
+ * lanes. Blocks are sized so neither accumulator, nor its cross-lane total, can overflow
+ * before it is folded into the long result.
+ * <p>
+ * Kept in its own source set, compiled with {@code --add-modules jdk.incubator.vector}, and
+ * only loaded reflectively by {@link SumKernels}: the module is absent unless the JVM runs
+ * with that flag too.
+ */
+public final class VectorSumKernel implements SumKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // Low halves are at most 0xFFFF, so this many of them fit one int across all lanes
+    private static final int BLOCK_LENGTH = (Integer.MAX_VALUE / 0xFFFF) / SPECIES.length() * SPECIES.length();
+
+    // Fewer lanes than this means the platform has no usable SIMD and would run emulated
+    private static final int MIN_LANES = 4;
+
+    // Below this, vector setup and the lane reduction cost more than the scalar loop
+    private static final int MIN_VECTOR_LENGTH = 256;
+
+    public static final VectorSumKernel INSTANCE = new VectorSumKernel();
+
+    private VectorSumKernel() {
+    }
+
+    public static boolean isSupported() {
+        return SPECIES.length() >= MIN_LANES;
+    }
+
+    public static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public long sum(int[] values, int from, int to) {
+        if (to - from < MIN_VECTOR_LENGTH) {
+            return ScalarSumKernel.INSTANCE.sum(values, from, to);
+        }
+        long sum = 0;
+        int i = from;
+        int vectorEnd = from + SPECIES.loopBound(to - from);
+        while (i < vectorEnd) {
+            int blockEnd = i + Math.min(BLOCK_LENGTH, vectorEnd - i);
+            IntVector low = IntVector.zero(SPECIES);
+            IntVector high = IntVector.zero(SPECIES);
+            for (; i < blockEnd; i += SPECIES.length()) {
+                IntVector v = IntVector.fromArray(SPECIES, values, i);
+                low = low.add(v.and(0xFFFF));
+                high = high.add(v.lanewise(VectorOperators.ASHR, 16));
+            }
+            sum += ((long) high.reduceLanes(VectorOperators.ADD) << 16) + low.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+}